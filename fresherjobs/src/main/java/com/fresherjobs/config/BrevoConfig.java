@@ -0,0 +1,32 @@
+package com.fresherjobs.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class BrevoConfig {
+
+    @Value("${spring.brevo.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${spring.brevo.http.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    // The JDK client keeps connections alive and pools them per host, so batches reuse one TLS session
+    @Bean
+    public RestTemplate brevoRestTemplate() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(requestFactory);
+    }
+}
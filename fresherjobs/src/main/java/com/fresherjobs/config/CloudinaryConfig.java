@@ -2,12 +2,14 @@ package com.fresherjobs.config;
 
 import com.cloudinary.Cloudinary;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.Map;
 
 @Configuration
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "cloudinary", matchIfMissing = true)
 public class CloudinaryConfig {
 
     @Value("${cloudinary.cloud-name}")
@@ -2,6 +2,7 @@ package com.fresherjobs.config;
 
 import com.fresherjobs.security.JwtFilter;
 import com.fresherjobs.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -20,6 +21,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.header.writers.DelegatingRequestMatcherHeaderWriter;
+import org.springframework.security.web.header.writers.StaticHeadersWriter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -45,13 +49,25 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Uploaded files are user content: even if one renders, it runs without the site's origin
+                .headers(headers -> headers.addHeaderWriter(new DelegatingRequestMatcherHeaderWriter(
+                        new AntPathRequestMatcher("/api/files/**"),
+                        new StaticHeadersWriter("Content-Security-Policy", "sandbox"))))
                 .authorizeHttpRequests(auth -> auth
+                        // Re-dispatches of async responses (SSE streams) were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Personalized, so it is carved out of the public job endpoints below
+                        .requestMatchers(HttpMethod.GET, "/api/jobs/recommended").hasRole("JOB_SEEKER")
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/jobs/**").permitAll()
+                        // Upload tickets are per user, so they are carved out of the public file downloads
+                        .requestMatchers(HttpMethod.GET, "/api/files/uploads/**").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/files/**").permitAll()
                         // Admin endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Metrics expose internal queue depths and error rates
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
                         // Recruiter endpoints
                         .requestMatchers(HttpMethod.POST, "/api/jobs/**").hasRole("RECRUITER")
                         .requestMatchers(HttpMethod.PUT, "/api/jobs/**").hasRole("RECRUITER")
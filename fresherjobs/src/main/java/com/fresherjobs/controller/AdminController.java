@@ -1,8 +1,12 @@
 package com.fresherjobs.controller;
 
+import com.fresherjobs.dto.request.SkillRequest;
 import com.fresherjobs.entity.Job;
+import com.fresherjobs.entity.Skill;
+import com.fresherjobs.entity.TaskExecution;
 import com.fresherjobs.entity.User;
 import com.fresherjobs.service.AdminService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -38,4 +42,15 @@ public class AdminController {
         adminService.removeJob(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Skills outside the aliases file are only matched once an admin adds them here
+    @PostMapping("/skills")
+    public ResponseEntity<Skill> addSkill(@Valid @RequestBody SkillRequest request) {
+        return ResponseEntity.ok(adminService.addSkill(request.getName()));
+    }
+
+    @GetMapping("/tasks/executions")
+    public ResponseEntity<List<TaskExecution>> getTaskExecutions(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(adminService.getTaskExecutions(limit));
+    }
 }
@@ -1,15 +1,17 @@
 package com.fresherjobs.controller;
 
+import com.fresherjobs.dto.request.ApplicantFilterRequest;
 import com.fresherjobs.dto.request.ApplicationRequest;
+import com.fresherjobs.dto.response.ApplicantPageResponse;
 import com.fresherjobs.dto.response.ApplicationResponse;
 import com.fresherjobs.enums.AppStatus;
+import com.fresherjobs.security.AuthenticatedUser;
 import com.fresherjobs.service.ApplicationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,24 +28,35 @@ public class ApplicationController {
     public ResponseEntity<ApplicationResponse> applyForJob(
             @PathVariable Long jobId,
             @RequestBody ApplicationRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ApplicationResponse response = applicationService.applyForJob(jobId, request, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        ApplicationResponse response = applicationService.applyForJob(jobId, request, user.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @GetMapping("/my")
     @PreAuthorize("hasRole('JOB_SEEKER')")
     public ResponseEntity<List<ApplicationResponse>> getMyApplications(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(applicationService.getMyApplications(userDetails.getUsername()));
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(applicationService.getMyApplications(user.getId()));
     }
 
     @GetMapping("/job/{jobId}")
     @PreAuthorize("hasRole('RECRUITER')")
     public ResponseEntity<List<ApplicationResponse>> getApplicantsForJob(
             @PathVariable Long jobId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(applicationService.getApplicantsForJob(jobId, userDetails.getUsername()));
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(applicationService.getApplicantsForJob(jobId, user.getId()));
+    }
+
+    @GetMapping("/job/{jobId}/ranked")
+    @PreAuthorize("hasRole('RECRUITER')")
+    public ResponseEntity<ApplicantPageResponse> getRankedApplicants(
+            @PathVariable Long jobId,
+            @ModelAttribute ApplicantFilterRequest filter,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(applicationService.getRankedApplicants(jobId, filter, page, size, user.getId()));
     }
 
     @PutMapping("/{id}/status")
@@ -51,8 +64,8 @@ public class ApplicationController {
     public ResponseEntity<ApplicationResponse> updateApplicationStatus(
             @PathVariable Long id,
             @RequestParam AppStatus status,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ApplicationResponse response = applicationService.updateApplicationStatus(id, status, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        ApplicationResponse response = applicationService.updateApplicationStatus(id, status, user.getId());
         return ResponseEntity.ok(response);
     }
 }
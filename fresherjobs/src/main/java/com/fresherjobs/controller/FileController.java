@@ -1,12 +1,25 @@
 package com.fresherjobs.controller;
 
-import com.fresherjobs.service.CloudinaryService;
+import com.fresherjobs.dto.response.UploadTicketResponse;
+import com.fresherjobs.enums.FileKind;
+import com.fresherjobs.enums.ImageVariant;
+import com.fresherjobs.exception.ResourceNotFoundException;
+import com.fresherjobs.security.AuthenticatedUser;
+import com.fresherjobs.service.FileDownloadService;
+import com.fresherjobs.service.FileStorage;
+import com.fresherjobs.service.FileUploadService;
+import com.fresherjobs.service.ImageVariantService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
 import java.util.Map;
 
 @RestController
@@ -14,16 +27,17 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class FileController {
 
-    private final CloudinaryService cloudinaryService;
+    private final FileStorage fileStorage;
+    private final FileUploadService fileUploadService;
+    private final FileDownloadService fileDownloadService;
+    private final ImageVariantService imageVariantService;
 
     @PostMapping("/upload/resume")
     public ResponseEntity<Map<String, String>> uploadResume(
             @RequestParam("file") MultipartFile file,
-            Authentication authentication) {
-        // Use email as stable public_id so re-uploads keep the same URL
-        String email = authentication.getName();
-        String publicId = email.replaceAll("[^a-zA-Z0-9]", "_") + "_resume";
-        String url = cloudinaryService.uploadFile(file, "resumes", publicId);
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        // Email is the stable public_id, so re-uploads keep the same URL
+        String url = fileUploadService.upload(file, FileKind.RESUME, user.getId(), user.getUsername());
         return ResponseEntity.ok(Map.of(
                 "url", url,
                 "filename", file.getOriginalFilename() != null ? file.getOriginalFilename() : "resume"));
@@ -32,13 +46,63 @@ public class FileController {
     @PostMapping("/upload/photo")
     public ResponseEntity<Map<String, String>> uploadPhoto(
             @RequestParam("file") MultipartFile file,
-            Authentication authentication) {
-        // Use email as stable public_id so re-uploads keep the same URL
-        String email = authentication.getName();
-        String publicId = email.replaceAll("[^a-zA-Z0-9]", "_") + "_photo";
-        String url = cloudinaryService.uploadImage(file, "photos", publicId);
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        // Email is the stable public_id, so re-uploads keep the same URL
+        String url = fileUploadService.upload(file, FileKind.PHOTO, user.getId(), user.getUsername());
         return ResponseEntity.ok(Map.of(
                 "url", url,
                 "filename", file.getOriginalFilename() != null ? file.getOriginalFilename() : "photo"));
     }
+
+    // Async mode: returns a ticket at once and the transfer runs in the background
+    @PostMapping(value = "/upload/resume", params = "async=true")
+    public ResponseEntity<UploadTicketResponse> uploadResumeAsync(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return accepted(fileUploadService.submit(file, FileKind.RESUME, user.getId(), user.getUsername()));
+    }
+
+    @PostMapping(value = "/upload/photo", params = "async=true")
+    public ResponseEntity<UploadTicketResponse> uploadPhotoAsync(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return accepted(fileUploadService.submit(file, FileKind.PHOTO, user.getId(), user.getUsername()));
+    }
+
+    @GetMapping("/uploads/{ticketId}")
+    public ResponseEntity<UploadTicketResponse> getUpload(
+            @PathVariable String ticketId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(fileUploadService.getTicket(ticketId, user.getId()));
+    }
+
+    // Only files kept by the local storage backend are served here; images can be asked for as a ?variant=
+    @GetMapping("/{folder}/{filename:.+}")
+    public void download(@PathVariable String folder, @PathVariable String filename,
+                         @RequestParam(required = false) String variant,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FileKind kind = FileKind.fromFolder(folder)
+                .orElseThrow(() -> new ResourceNotFoundException("File not found"));
+        Path file = fileStorage.locate(kind, filename)
+                .orElseThrow(() -> new ResourceNotFoundException("File not found"));
+        if (variant != null) {
+            if (!kind.isImage()) {
+                throw new IllegalArgumentException("Variants are only available for images");
+            }
+            // Served from the open file, which eviction or a re-render may delete meanwhile
+            try (ImageVariantService.OpenVariant rendered = imageVariantService.open(file, ImageVariant.fromParam(variant))) {
+                fileDownloadService.send(rendered.channel(), rendered.path(), rendered.lastModified(), false,
+                        request, response);
+            }
+            return;
+        }
+        // Resumes are documents, not images: always a download, never rendered inline
+        fileDownloadService.send(file, kind == FileKind.RESUME, request, response);
+    }
+
+    private static ResponseEntity<UploadTicketResponse> accepted(UploadTicketResponse ticket) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/files/uploads/" + ticket.getTicketId()))
+                .body(ticket);
+    }
 }
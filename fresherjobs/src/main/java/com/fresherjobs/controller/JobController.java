@@ -1,18 +1,26 @@
 package com.fresherjobs.controller;
 
+import com.fresherjobs.dto.request.JobFilterRequest;
 import com.fresherjobs.dto.request.JobRequest;
+import com.fresherjobs.dto.response.JobPageResponse;
 import com.fresherjobs.dto.response.JobResponse;
+import com.fresherjobs.dto.response.RecommendedJobResponse;
+import com.fresherjobs.security.AuthenticatedUser;
 import com.fresherjobs.service.JobService;
+import com.fresherjobs.service.JobSnapshotCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/jobs")
@@ -20,24 +28,56 @@ import java.util.List;
 public class JobController {
 
     private final JobService jobService;
+    private final JobSnapshotCache jobSnapshotCache;
 
     @PostMapping
     @PreAuthorize("hasRole('RECRUITER')")
     public ResponseEntity<JobResponse> createJob(
             @Valid @RequestBody JobRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        JobResponse response = jobService.createJob(request, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        JobResponse response = jobService.createJob(request, user.getId(), user.isApproved());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @GetMapping
-    public ResponseEntity<List<JobResponse>> getAllActiveJobs() {
-        return ResponseEntity.ok(jobService.getAllActiveJobs());
+    public ResponseEntity<byte[]> getAllActiveJobs(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        JobSnapshotCache.Snapshot snapshot = jobSnapshotCache.getListing(jobService::getAllActiveJobs);
+        return snapshotResponse(snapshot, ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<JobPageResponse> getActiveJobsPage(
+            @ModelAttribute JobFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(jobService.getActiveJobsPage(filter, cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<JobResponse>> searchJobs(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(jobService.searchJobs(query, limit));
+    }
+
+    @GetMapping("/recommended")
+    @PreAuthorize("hasRole('JOB_SEEKER')")
+    public ResponseEntity<List<RecommendedJobResponse>> getRecommendedJobs(
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(jobService.getRecommendedJobs(user.getId(), location, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<JobResponse> getJobById(@PathVariable Long id) {
-        return ResponseEntity.ok(jobService.getJobById(id));
+    public ResponseEntity<byte[]> getJobById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        JobSnapshotCache.Snapshot snapshot = jobSnapshotCache.getDetail(id, () -> jobService.getJobById(id));
+        return snapshotResponse(snapshot, ifNoneMatch, acceptEncoding);
     }
 
     @PutMapping("/{id}")
@@ -45,8 +85,8 @@ public class JobController {
     public ResponseEntity<JobResponse> updateJob(
             @PathVariable Long id,
             @Valid @RequestBody JobRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        JobResponse response = jobService.updateJob(id, request, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        JobResponse response = jobService.updateJob(id, request, user.getId());
         return ResponseEntity.ok(response);
     }
 
@@ -54,15 +94,70 @@ public class JobController {
     @PreAuthorize("hasRole('RECRUITER')")
     public ResponseEntity<Void> deleteJob(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        jobService.deleteJob(id, userDetails.getUsername());
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        jobService.deleteJob(id, user.getId());
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/my")
     @PreAuthorize("hasRole('RECRUITER')")
     public ResponseEntity<List<JobResponse>> getMyJobs(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(jobService.getMyJobs(userDetails.getUsername()));
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(jobService.getMyJobs(user.getId()));
+    }
+
+    // Serve a pre-serialized snapshot: 304 on a matching ETag, otherwise the cached (optionally gzipped) bytes
+    private ResponseEntity<byte[]> snapshotResponse(
+            JobSnapshotCache.Snapshot snapshot, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return builder.body(snapshot.json());
+    }
+
+    // True if Accept-Encoding allows gzip, directly or through "*"; a q of 0 refuses the coding
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2).trim()) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = accepted;
+            } else if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return gzip != null ? gzip : wildcard;
     }
 }
@@ -0,0 +1,59 @@
+package com.fresherjobs.controller;
+
+import com.fresherjobs.dto.request.MarkReadRequest;
+import com.fresherjobs.dto.response.NotificationPageResponse;
+import com.fresherjobs.security.AuthenticatedUser;
+import com.fresherjobs.service.NotificationHub;
+import com.fresherjobs.service.NotificationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final NotificationHub notificationHub;
+
+    @GetMapping
+    public ResponseEntity<NotificationPageResponse> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(notificationService.getFeed(user.getId(), cursor, size));
+    }
+
+    // Browsers resend Last-Event-ID on automatic reconnects; the query parameter covers manual ones
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(required = false) Long lastEventId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return notificationHub.subscribe(user.getId(), lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(user.getId())));
+    }
+
+    @PutMapping("/read")
+    public ResponseEntity<Map<String, Long>> markRead(
+            @Valid @RequestBody MarkReadRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.markRead(user.getId(), request.getIds())));
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<Map<String, Long>> markAllRead(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(Map.of("unreadCount", notificationService.markAllRead(user.getId())));
+    }
+}
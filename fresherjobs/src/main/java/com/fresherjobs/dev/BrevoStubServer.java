@@ -0,0 +1,132 @@
+package com.fresherjobs.dev;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for Brevo's {@code POST /v3/smtp/email}, for exercising the
+ * email pipeline offline. Active only with the {@code brevo-stub} profile, which
+ * also points {@code spring.brevo.api.url} at it. Counts requests and messages
+ * (including {@code messageVersions}) and reports them on {@code GET /stats}.
+ */
+@Slf4j
+@Component
+@Profile("brevo-stub")
+@RequiredArgsConstructor
+public class BrevoStubServer {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${brevo-stub.port:8089}")
+    private int port;
+
+    // Simulated provider latency per request
+    @Value("${brevo-stub.latency-ms:50}")
+    private long latencyMs;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService handlers;
+
+    @PostConstruct
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/v3/smtp/email", this::handleSend);
+        server.createContext("/stats", this::handleStats);
+        handlers = Executors.newFixedThreadPool(8);
+        server.setExecutor(handlers);
+        server.start();
+        log.info("Brevo stub listening on http://localhost:{}/v3/smtp/email", getPort());
+    }
+
+    @PreDestroy
+    void stop() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    // The bound port, which differs from brevo-stub.port when that is 0
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleSend(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, Map.of("message", "Method not allowed"));
+            return;
+        }
+        JsonNode body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = objectMapper.readTree(in);
+        }
+        if (!body.hasNonNull("sender") || !body.hasNonNull("subject")) {
+            respond(exchange, 400, Map.of("code", "missing_parameter", "message", "sender and subject are required"));
+            return;
+        }
+
+        JsonNode versions = body.get("messageVersions");
+        int count = versions != null && versions.isArray() ? versions.size() : 1;
+        long request = requests.incrementAndGet();
+        messages.addAndGet(count);
+        largestBatch.accumulateAndGet(count, Math::max);
+
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (versions != null) {
+            List<String> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add("<stub-" + request + "-" + i + "@brevo.local>");
+            }
+            respond(exchange, 201, Map.of("messageIds", ids));
+        } else {
+            respond(exchange, 201, Map.of("messageId", "<stub-" + request + "@brevo.local>"));
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        respond(exchange, 200, Map.of(
+                "requests", requests.get(),
+                "messages", messages.get(),
+                "largestBatch", largestBatch.get()));
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
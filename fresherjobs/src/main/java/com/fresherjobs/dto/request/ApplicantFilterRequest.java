@@ -0,0 +1,14 @@
+package com.fresherjobs.dto.request;
+
+import com.fresherjobs.enums.AppStatus;
+import com.fresherjobs.enums.ApplicantSort;
+import lombok.Data;
+
+@Data
+public class ApplicantFilterRequest {
+    private AppStatus status;
+    private Double minCgpa;
+    private Integer graduationYear;
+    private Boolean hasResume;
+    private ApplicantSort sort = ApplicantSort.SCORE;
+}
@@ -0,0 +1,16 @@
+package com.fresherjobs.dto.request;
+
+import com.fresherjobs.enums.JobType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class JobFilterRequest {
+    private JobType jobType;
+    private String location;
+    private Long categoryId;
+    private Integer graduationYear;
+    private BigDecimal salaryMin;
+    private BigDecimal salaryMax;
+}
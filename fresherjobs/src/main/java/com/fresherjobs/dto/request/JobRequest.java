@@ -6,6 +6,7 @@ import lombok.Data;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
 public class JobRequest {
@@ -36,5 +37,8 @@ public class JobRequest {
 
     private LocalDate expiresAt;
 
+    // Optional future publication time; the job stays hidden until then
+    private LocalDateTime publishAt;
+
     private Long categoryId;
 }
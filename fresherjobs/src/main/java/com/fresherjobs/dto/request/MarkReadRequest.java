@@ -0,0 +1,14 @@
+package com.fresherjobs.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MarkReadRequest {
+    @NotEmpty(message = "ids must not be empty")
+    @Size(max = 500, message = "At most 500 ids per request")
+    private List<Long> ids;
+}
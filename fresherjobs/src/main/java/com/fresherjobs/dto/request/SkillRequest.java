@@ -0,0 +1,18 @@
+package com.fresherjobs.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillRequest {
+    @NotBlank(message = "Skill name is required")
+    @Size(max = 60, message = "Skill name must be at most 60 characters")
+    private String name;
+}
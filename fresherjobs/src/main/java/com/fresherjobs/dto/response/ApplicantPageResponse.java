@@ -0,0 +1,21 @@
+package com.fresherjobs.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicantPageResponse {
+    private List<RankedApplicantResponse> content;
+    private int page;
+    private int size;
+    // Applicants matching the filters, across all pages
+    private long totalMatched;
+    private boolean hasMore;
+}
@@ -27,6 +27,7 @@ public class ApplicationResponse {
 
     // Applicant profile details
     private String profilePhoto;
+    private String profilePhotoThumbnail;
     private String collegeName;
     private String degree;
     private Integer graduationYear;
@@ -0,0 +1,18 @@
+package com.fresherjobs.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobPageResponse {
+    private List<JobResponse> content;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -28,6 +28,7 @@ public class JobResponse {
     private Boolean isActive;
     private LocalDateTime postedAt;
     private LocalDate expiresAt;
+    private LocalDateTime publishAt;
     private String companyName;
     private String companyLogoUrl;
     private String companyWebsite;
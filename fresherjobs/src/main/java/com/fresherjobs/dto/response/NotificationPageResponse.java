@@ -0,0 +1,18 @@
+package com.fresherjobs.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageResponse {
+    private List<NotificationResponse> content;
+    private String nextCursor;
+    private boolean hasMore;
+}
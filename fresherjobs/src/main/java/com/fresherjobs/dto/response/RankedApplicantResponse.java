@@ -0,0 +1,18 @@
+package com.fresherjobs.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankedApplicantResponse {
+    // Cover letter is cut to a preview; the full text is on the plain applicant list
+    private ApplicationResponse application;
+    // 0..1 match against the job's skills and graduation year, plus cgpa
+    private double score;
+    private int matchedSkills;
+}
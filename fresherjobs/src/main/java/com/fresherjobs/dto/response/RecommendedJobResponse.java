@@ -0,0 +1,17 @@
+package com.fresherjobs.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendedJobResponse {
+    private JobResponse job;
+    // 0..1, higher is a better match
+    private double score;
+    private int matchedSkills;
+}
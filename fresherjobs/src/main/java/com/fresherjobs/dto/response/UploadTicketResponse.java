@@ -0,0 +1,25 @@
+package com.fresherjobs.dto.response;
+
+import com.fresherjobs.enums.FileKind;
+import com.fresherjobs.enums.UploadStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadTicketResponse {
+    private String ticketId;
+    private FileKind kind;
+    private UploadStatus status;
+    private String url;
+    private String filename;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -47,4 +47,8 @@ public class Application {
     @CreationTimestamp
     @Column(name = "applied_at", updatable = false)
     private LocalDateTime appliedAt;
+
+    // Set while the recruiter has not yet been told about this application in a digest
+    @Column(name = "digest_pending")
+    private Boolean digestPending;
 }
@@ -1,5 +1,6 @@
 package com.fresherjobs.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -16,6 +17,8 @@ public class FresherProfile {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Not serialized: profile responses are returned as-is and must not expose the user entity
+    @JsonIgnore
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", unique = true, nullable = false)
     private User user;
@@ -35,6 +38,11 @@ public class FresherProfile {
     @Column(name = "skills", columnDefinition = "TEXT")
     private String skills;
 
+    // Skill ids from SkillDictionary as a bitset, kept in sync with skills on write
+    @JsonIgnore
+    @Column(name = "skill_bits")
+    private byte[] skillBits;
+
     @Column(name = "resume_url")
     private String resumeUrl;
 
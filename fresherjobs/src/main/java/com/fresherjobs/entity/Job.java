@@ -1,5 +1,6 @@
 package com.fresherjobs.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fresherjobs.enums.JobType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
@@ -12,7 +13,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "jobs")
+@Table(
+    name = "jobs",
+    indexes = {
+        @Index(name = "idx_jobs_active_posted", columnList = "is_active, posted_at, id"),
+        @Index(name = "idx_jobs_active_expires", columnList = "is_active, expires_at"),
+        @Index(name = "idx_jobs_publish_at", columnList = "publish_at")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -41,6 +49,11 @@ public class Job {
     @Column(name = "skills_required", columnDefinition = "TEXT")
     private String skillsRequired;
 
+    // Skill ids from SkillDictionary as a bitset, kept in sync with skillsRequired on write
+    @JsonIgnore
+    @Column(name = "skill_bits")
+    private byte[] skillBits;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "job_type", nullable = false)
     private JobType jobType;
@@ -65,10 +78,15 @@ public class Job {
     @Builder.Default
     private Boolean isActive = true;
 
+    // Set on insert; moved to the publication instant when a scheduled job goes live
     @CreationTimestamp
-    @Column(name = "posted_at", updatable = false)
+    @Column(name = "posted_at")
     private LocalDateTime postedAt;
 
     @Column(name = "expires_at")
     private LocalDate expiresAt;
+
+    // Scheduled publication time; only set while the job is waiting to go live
+    @Column(name = "publish_at")
+    private LocalDateTime publishAt;
 }
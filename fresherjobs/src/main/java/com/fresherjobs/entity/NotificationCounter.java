@@ -0,0 +1,22 @@
+package com.fresherjobs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Running count of a user's unread notifications, so the badge never counts rows
+@Entity
+@Table(name = "notification_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+}
@@ -0,0 +1,72 @@
+package com.fresherjobs.entity;
+
+import com.fresherjobs.enums.OutboxStatus;
+import com.fresherjobs.enums.OutboxType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Side effect (in-app notification or email) recorded in the same transaction as
+ * the business change that caused it. Rows are deleted once delivered; rows that
+ * exhaust their retries are kept as FAILED for inspection.
+ */
+@Entity
+@Table(
+    name = "outbox_messages",
+    indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private OutboxType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "recipient_user_id")
+    private Long recipientUserId;
+
+    @Column(name = "recipient_email", length = 150)
+    private String recipientEmail;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "template_name", length = 100)
+    private String templateName;
+
+    // Notification text, or the template variables as JSON for emails
+    @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
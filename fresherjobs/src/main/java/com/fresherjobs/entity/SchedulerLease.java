@@ -0,0 +1,37 @@
+package com.fresherjobs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per cluster-wide scheduled task. Whoever holds an unexpired lease runs
+ * the task; the fencing token grows by one on every acquisition, so a node whose
+ * lease was taken over can tell that its token is stale.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "task_name", length = 100)
+    private String taskName;
+
+    @Column(name = "owner", nullable = false, length = 200)
+    private String owner;
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "acquired_at", nullable = false)
+    private LocalDateTime acquiredAt;
+}
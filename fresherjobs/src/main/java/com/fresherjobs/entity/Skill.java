@@ -0,0 +1,30 @@
+package com.fresherjobs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entry in the global skill dictionary. Ids are small dense integers, used as bit
+ * positions in the skill bitsets stored on jobs and profiles, so they never change.
+ */
+@Entity
+@Table(name = "skills")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Skill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    // Normalized lookup key, e.g. "nodejs" for "Node.js"
+    @Column(name = "skill_key", nullable = false, unique = true, length = 100)
+    private String skillKey;
+
+    // Canonical display name, e.g. "node.js"
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+}
@@ -0,0 +1,38 @@
+package com.fresherjobs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Content digest of what is currently stored under a public_id, so identical re-uploads can skip the backend
+@Entity
+@Table(name = "stored_files")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredFile {
+
+    // "<folder>/<publicId>"
+    @Id
+    @Column(name = "storage_key", length = 200)
+    private String storageKey;
+
+    // Backend that holds the file; a digest recorded by another backend does not count
+    @Column(name = "storage_type", nullable = false, length = 20)
+    private String storageType;
+
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "url", nullable = false, length = 500)
+    private String url;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,49 @@
+package com.fresherjobs.entity;
+
+import com.fresherjobs.enums.TaskRunStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// History of cluster-wide scheduled task runs, one row per run that won the lease
+@Entity
+@Table(
+    name = "task_executions",
+    indexes = {
+        @Index(name = "idx_task_executions_started", columnList = "started_at")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskExecution {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_name", nullable = false, length = 100)
+    private String taskName;
+
+    @Column(name = "owner", nullable = false, length = 200)
+    private String owner;
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TaskRunStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+}
@@ -0,0 +1,31 @@
+package com.fresherjobs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per storage key with a transfer in flight. The owner is unique to each
+ * acquisition, so a holder whose lease expired and was taken over can tell.
+ */
+@Entity
+@Table(name = "upload_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadLease {
+
+    // "<folder>/<publicId>"
+    @Id
+    @Column(name = "storage_key", length = 200)
+    private String storageKey;
+
+    @Column(name = "owner", nullable = false, length = 36)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
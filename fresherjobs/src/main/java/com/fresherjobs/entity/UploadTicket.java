@@ -0,0 +1,57 @@
+package com.fresherjobs.entity;
+
+import com.fresherjobs.enums.FileKind;
+import com.fresherjobs.enums.UploadStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// An upload accepted in async mode; polled by the client until the transfer to storage finishes
+@Entity
+@Table(
+    name = "upload_tickets",
+    indexes = {
+        @Index(name = "idx_upload_tickets_status_created", columnList = "status, created_at")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadTicket {
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false)
+    private FileKind kind;
+
+    @Column(name = "filename")
+    private String filename;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private UploadStatus status = UploadStatus.PENDING;
+
+    @Column(name = "url", length = 500)
+    private String url;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -46,4 +46,9 @@ public class User {
 
     @Column(name = "reset_password_token_expiry")
     private LocalDateTime resetPasswordTokenExpiry;
+
+    // Bumped whenever previously issued JWTs must stop working (e.g. a password reset)
+    @Column(name = "token_version", nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    @Builder.Default
+    private Integer tokenVersion = 0;
 }
@@ -0,0 +1,8 @@
+package com.fresherjobs.enums;
+
+public enum ApplicantSort {
+    SCORE,
+    CGPA,
+    NEWEST,
+    OLDEST
+}
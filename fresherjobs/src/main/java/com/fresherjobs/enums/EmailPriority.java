@@ -0,0 +1,15 @@
+package com.fresherjobs.enums;
+
+import java.util.Set;
+
+public enum EmailPriority {
+    HIGH,
+    BULK;
+
+    // Account emails the user is actively waiting for; everything else can queue behind them
+    private static final Set<String> HIGH_PRIORITY_TEMPLATES = Set.of("password-reset", "welcome");
+
+    public static EmailPriority forTemplate(String templateName) {
+        return HIGH_PRIORITY_TEMPLATES.contains(templateName) ? HIGH : BULK;
+    }
+}
@@ -0,0 +1,51 @@
+package com.fresherjobs.enums;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+public enum FileKind {
+    RESUME("resumes", "resume", false, Set.of("pdf", "doc", "docx")),
+    PHOTO("photos", "photo", true, Set.of("jpg", "jpeg", "png", "webp")),
+    LOGO("logos", "logo", true, Set.of("jpg", "jpeg", "png", "webp"));
+
+    private final String folder;
+    private final String suffix;
+    private final boolean image;
+    private final Set<String> extensions;
+
+    FileKind(String folder, String suffix, boolean image, Set<String> extensions) {
+        this.folder = folder;
+        this.suffix = suffix;
+        this.image = image;
+        this.extensions = extensions;
+    }
+
+    public String getFolder() {
+        return folder;
+    }
+
+    public boolean isImage() {
+        return image;
+    }
+
+    // Stable per user, so re-uploads overwrite the previous file and keep the same URL
+    public String publicIdFor(String email) {
+        return email.replaceAll("[^a-zA-Z0-9]", "_") + "_" + suffix;
+    }
+
+    // Lower-cased extension of the filename when it is one this kind accepts
+    public Optional<String> extensionOf(String filename) {
+        if (filename == null) {
+            return Optional.empty();
+        }
+        int dot = filename.lastIndexOf('.');
+        String extension = dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return extensions.contains(extension) ? Optional.of(extension) : Optional.empty();
+    }
+
+    public static Optional<FileKind> fromFolder(String folder) {
+        return Arrays.stream(values()).filter(k -> k.folder.equals(folder)).findFirst();
+    }
+}
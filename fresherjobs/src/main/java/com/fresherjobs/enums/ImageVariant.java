@@ -0,0 +1,33 @@
+package com.fresherjobs.enums;
+
+import java.util.Locale;
+
+// Square thumbnails of uploaded images; sizes are 2x the CSS size they are shown at
+public enum ImageVariant {
+    THUMB(96),
+    SMALL(240),
+    MEDIUM(480);
+
+    private final int size;
+
+    ImageVariant(int size) {
+        this.size = size;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // Lower-case name, as used in ?variant= URLs
+    public String getParam() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ImageVariant fromParam(String param) {
+        try {
+            return valueOf(param.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown image variant: " + param);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.fresherjobs.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    // Claimed by a dispatcher until next_attempt_at; an expired claim is picked up again
+    IN_FLIGHT,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.fresherjobs.enums;
+
+public enum OutboxType {
+    IN_APP_NOTIFICATION,
+    EMAIL
+}
@@ -0,0 +1,8 @@
+package com.fresherjobs.enums;
+
+public enum TaskRunStatus {
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    LEASE_LOST
+}
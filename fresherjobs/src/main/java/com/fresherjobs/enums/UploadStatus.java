@@ -0,0 +1,7 @@
+package com.fresherjobs.enums;
+
+public enum UploadStatus {
+    PENDING,
+    COMPLETED,
+    FAILED
+}
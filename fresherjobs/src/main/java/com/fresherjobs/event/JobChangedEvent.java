@@ -0,0 +1,53 @@
+package com.fresherjobs.event;
+
+import com.fresherjobs.dto.response.JobResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by job write paths so in-memory read models (search index, caches)
+ * can follow the {@code jobs} table without polling it. Listeners receive it
+ * after the surrounding transaction commits. Changes committed on other replicas
+ * arrive through {@link com.fresherjobs.service.JobChangeRelay} as remote events.
+ */
+@Getter
+@AllArgsConstructor
+public class JobChangedEvent {
+
+    public enum ChangeType {
+        UPSERTED,
+        REMOVED,
+        EXPIRED
+    }
+
+    private final ChangeType type;
+    private final List<Long> jobIds;
+    // Current state of the job for UPSERTED, null otherwise
+    private final JobResponse job;
+    // The job's skill bitset as stored for UPSERTED, so listeners need not encode the text again
+    private final byte[] skillBits;
+    // Replayed from another replica, so it must not be relayed again
+    private final boolean remote;
+
+    public static JobChangedEvent upserted(JobResponse job, byte[] skillBits) {
+        return new JobChangedEvent(ChangeType.UPSERTED, List.of(job.getId()), job, skillBits, false);
+    }
+
+    public static JobChangedEvent removed(Long jobId) {
+        return new JobChangedEvent(ChangeType.REMOVED, List.of(jobId), null, null, false);
+    }
+
+    public static JobChangedEvent expired(List<Long> jobIds) {
+        return new JobChangedEvent(ChangeType.EXPIRED, List.copyOf(jobIds), null, null, false);
+    }
+
+    public static JobChangedEvent remoteUpserted(JobResponse job, byte[] skillBits) {
+        return new JobChangedEvent(ChangeType.UPSERTED, List.of(job.getId()), job, skillBits, true);
+    }
+
+    public static JobChangedEvent remote(ChangeType type, List<Long> jobIds) {
+        return new JobChangedEvent(type, List.copyOf(jobIds), null, null, true);
+    }
+}
@@ -0,0 +1,21 @@
+package com.fresherjobs.event;
+
+import com.fresherjobs.dto.response.NotificationResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by the outbox dispatcher for every batch of in-app notifications it
+ * writes, so live subscribers can be pushed the new rows once the batch commits.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationsCreatedEvent {
+
+    public record Created(Long userId, NotificationResponse notification) {
+    }
+
+    private final List<Created> notifications;
+}
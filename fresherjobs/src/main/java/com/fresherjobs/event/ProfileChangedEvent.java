@@ -0,0 +1,11 @@
+package com.fresherjobs.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by ProfileService after a seeker's profile is written, so per-profile caches can drop it
+@Getter
+@AllArgsConstructor
+public class ProfileChangedEvent {
+    private final Long userId;
+}
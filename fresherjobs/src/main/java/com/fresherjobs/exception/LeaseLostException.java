@@ -0,0 +1,11 @@
+package com.fresherjobs.exception;
+
+public class LeaseLostException extends RuntimeException {
+    public LeaseLostException(String taskName, long fencingToken) {
+        super("Lease for task " + taskName + " with fencing token " + fencingToken + " is no longer held");
+    }
+
+    public LeaseLostException(String message) {
+        super(message);
+    }
+}
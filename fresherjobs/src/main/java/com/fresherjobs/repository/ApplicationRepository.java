@@ -1,11 +1,23 @@
 package com.fresherjobs.repository;
 
 import com.fresherjobs.entity.Application;
+import com.fresherjobs.enums.AppStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
@@ -14,10 +26,74 @@ public interface ApplicationRepository extends JpaRepository<Application, Long>
 
     List<Application> findAllByJobId(Long jobId);
 
+    // Listing paths load applicant, job and company in the same query as the applications
+    @EntityGraph(attributePaths = {"user", "job", "job.company"})
+    List<Application> findAllWithDetailsByUserId(Long userId);
+
+    @EntityGraph(attributePaths = {"user", "job", "job.company"})
+    List<Application> findAllWithDetailsByJobId(Long jobId);
+
+    @EntityGraph(attributePaths = {"user", "job", "job.company"})
+    List<Application> findAllWithDetailsByIdIn(Collection<Long> ids);
+
+    // Light rows for ranking: no cover letters or entities, streamed with a fetch size so large pools stay bounded
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.id AS id, a.status AS status, a.appliedAt AS appliedAt, a.resumeUrl AS resumeUrl, "
+            + "p.skillBits AS skillBits, p.cgpa AS cgpa, p.graduationYear AS graduationYear, "
+            + "p.resumeUrl AS profileResumeUrl "
+            + "FROM Application a LEFT JOIN FresherProfile p ON p.user = a.user "
+            + "WHERE a.job.id = :jobId "
+            + "AND (:status IS NULL OR a.status = :status) "
+            + "AND (:minCgpa IS NULL OR p.cgpa >= :minCgpa) "
+            + "AND (:graduationYear IS NULL OR p.graduationYear = :graduationYear)")
+    Stream<ApplicantRow> streamApplicantRows(Long jobId, AppStatus status, Double minCgpa, Integer graduationYear);
+
+    interface ApplicantRow {
+        Long getId();
+
+        AppStatus getStatus();
+
+        LocalDateTime getAppliedAt();
+
+        String getResumeUrl();
+
+        byte[] getSkillBits();
+
+        Double getCgpa();
+
+        Integer getGraduationYear();
+
+        String getProfileResumeUrl();
+    }
+
     boolean existsByUserIdAndJobId(Long userId, Long jobId);
 
     Optional<Application> findByUserIdAndJobId(Long userId, Long jobId);
 
+    // Jobs with applications still waiting for a recruiter digest, with the oldest waiting since when
+    @Query("SELECT a.job.id AS jobId, COUNT(a) AS pending, MIN(a.appliedAt) AS oldest "
+            + "FROM Application a WHERE a.digestPending = true GROUP BY a.job.id")
+    List<PendingDigest> findPendingDigests();
+
+    // SKIP LOCKED (-2) keeps two flushers from sending the same digest
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT a FROM Application a JOIN FETCH a.user WHERE a.job.id = :jobId AND a.digestPending = true "
+            + "ORDER BY a.appliedAt, a.id")
+    List<Application> lockPendingDigest(Long jobId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Application a SET a.digestPending = false WHERE a.id IN :ids")
+    int clearDigestPending(Collection<Long> ids);
+
+    interface PendingDigest {
+        Long getJobId();
+
+        long getPending();
+
+        LocalDateTime getOldest();
+    }
+
     void deleteAllByJobId(Long jobId);
 
     void deleteAllByUserId(Long userId);
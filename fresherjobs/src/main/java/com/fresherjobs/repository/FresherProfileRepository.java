@@ -1,13 +1,21 @@
 package com.fresherjobs.repository;
 
 import com.fresherjobs.entity.FresherProfile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FresherProfileRepository extends JpaRepository<FresherProfile, Long> {
     Optional<FresherProfile> findByUserId(Long userId);
     boolean existsByUserId(Long userId);
+    List<FresherProfile> findAllByUserIdIn(Collection<Long> userIds);
+
+    @Query("SELECT p FROM FresherProfile p WHERE p.skillBits IS NULL ORDER BY p.id")
+    List<FresherProfile> findWithoutSkillBits(Pageable pageable);
 }
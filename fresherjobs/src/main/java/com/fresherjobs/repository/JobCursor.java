@@ -0,0 +1,34 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.entity.Job;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the active-job listing, ordered by (postedAt DESC, id DESC).
+ * Encoded as an opaque URL-safe token so clients never build it themselves.
+ */
+public record JobCursor(LocalDateTime postedAt, Long id) {
+
+    public static JobCursor of(Job job) {
+        return new JobCursor(job.getPostedAt(), job.getId());
+    }
+
+    public String encode() {
+        String raw = postedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JobCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new JobCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,24 +1,70 @@
 package com.fresherjobs.repository;
 
 import com.fresherjobs.entity.Job;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job>, JobRepositoryCustom {
 
+    // Read paths that feed JobResponse join company and category up front to avoid 1 + 2N lazy loads
+    @EntityGraph(attributePaths = {"company", "category"})
     List<Job> findAllByIsActiveTrue();
 
+    @EntityGraph(attributePaths = {"company", "category"})
     List<Job> findAllByCompanyUserId(Long userId);
 
+    @EntityGraph(attributePaths = {"company", "category"})
+    Optional<Job> findWithCompanyAndCategoryById(Long id);
+
+    @EntityGraph(attributePaths = {"company", "category"})
+    List<Job> findWithCompanyAndCategoryByIdIn(Collection<Long> ids);
+
     List<Job> findAllByCompanyId(Long companyId);
 
-    @Modifying
-    @Query("UPDATE Job j SET j.isActive = false WHERE j.expiresAt < :today AND j.isActive = true")
-    void deactivateExpiredJobs(LocalDate today);
+    @Query("SELECT j.id FROM Job j WHERE j.expiresAt < :today AND j.isActive = true ORDER BY j.id")
+    List<Long> findExpiredActiveJobIds(LocalDate today, Pageable pageable);
+
+    // Check and write in one statement: when replicas race for the same jobs, the row lock makes
+    // the later UPDATE re-check the row and skip it, so each id is returned to exactly one caller
+    @Query(value = "UPDATE jobs SET is_active = false "
+            + "WHERE id IN (:ids) AND is_active = true AND expires_at < :today RETURNING id", nativeQuery = true)
+    List<Long> claimExpired(Collection<Long> ids, LocalDate today);
+
+    @Query("SELECT j.id FROM Job j WHERE j.publishAt <= :now AND j.isActive = false ORDER BY j.id")
+    List<Long> findDuePublicationIds(LocalDateTime now, Pageable pageable);
+
+    // Claimed the same way as claimExpired. postedAt moves to the publication instant so the job sorts
+    // as new in the feed; one that expired before it was ever published only loses its schedule
+    @Query(value = "UPDATE jobs SET publish_at = NULL, "
+            + "is_active = (expires_at IS NULL OR expires_at >= :today), "
+            + "posted_at = CASE WHEN expires_at IS NULL OR expires_at >= :today THEN :now ELSE posted_at END "
+            + "WHERE id IN (:ids) AND is_active = false AND publish_at <= :now RETURNING id", nativeQuery = true)
+    List<Long> claimDuePublications(Collection<Long> ids, LocalDateTime now, LocalDate today);
+
+    @Query("SELECT j FROM Job j WHERE j.skillBits IS NULL ORDER BY j.id")
+    List<Job> findWithoutSkillBits(Pageable pageable);
+
+    // Everything the schedule engine has to track: live jobs that will expire and jobs waiting to go live
+    @Query("SELECT j.id AS id, j.expiresAt AS expiresAt, j.publishAt AS publishAt FROM Job j "
+            + "WHERE (j.isActive = true AND j.expiresAt IS NOT NULL) OR (j.isActive = false AND j.publishAt IS NOT NULL)")
+    List<ScheduledJob> findScheduled();
+
+    interface ScheduledJob {
+        Long getId();
+
+        LocalDate getExpiresAt();
+
+        LocalDateTime getPublishAt();
+    }
 }
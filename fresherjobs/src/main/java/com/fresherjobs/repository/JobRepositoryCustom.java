@@ -0,0 +1,16 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.entity.Job;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface JobRepositoryCustom {
+
+    /**
+     * Returns at most {@code limit} jobs matching the specification, newest first,
+     * ordered by (postedAt DESC, id DESC) without issuing a count query.
+     * Company and category are fetch-joined so mapping to JobResponse needs no further queries.
+     */
+    List<Job> findNewestFirst(Specification<Job> spec, int limit);
+}
@@ -0,0 +1,35 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.entity.Job;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class JobRepositoryCustomImpl implements JobRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Job> findNewestFirst(Specification<Job> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Job> query = cb.createQuery(Job.class);
+        Root<Job> root = query.from(Job.class);
+        root.fetch("company", JoinType.INNER);
+        root.fetch("category", JoinType.LEFT);
+
+        query.select(root)
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("postedAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
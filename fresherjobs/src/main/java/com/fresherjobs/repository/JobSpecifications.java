@@ -0,0 +1,69 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.dto.request.JobFilterRequest;
+import com.fresherjobs.entity.Job;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class JobSpecifications {
+
+    private JobSpecifications() {
+    }
+
+    public static Specification<Job> isActive() {
+        return (root, query, cb) -> cb.isTrue(root.get("isActive"));
+    }
+
+    public static Specification<Job> matches(JobFilterRequest filter) {
+        return (root, query, cb) -> {
+            if (filter == null) {
+                return cb.conjunction();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getJobType() != null) {
+                predicates.add(cb.equal(root.get("jobType"), filter.getJobType()));
+            }
+            if (filter.getLocation() != null && !filter.getLocation().isBlank()) {
+                predicates.add(cb.equal(cb.lower(root.get("location")), filter.getLocation().trim().toLowerCase()));
+            }
+            if (filter.getCategoryId() != null) {
+                predicates.add(cb.equal(root.get("category").get("id"), filter.getCategoryId()));
+            }
+            if (filter.getGraduationYear() != null) {
+                // Jobs without a graduation year are open to every batch
+                predicates.add(cb.or(
+                        cb.isNull(root.get("graduationYear")),
+                        cb.equal(root.get("graduationYear"), filter.getGraduationYear())));
+            }
+            // Salary filters match on range overlap, so a job paying 3-6 LPA shows up for "at least 5"
+            if (filter.getSalaryMin() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(
+                        cb.coalesce(root.<BigDecimal>get("salaryMax"), root.<BigDecimal>get("salaryMin")), filter.getSalaryMin()));
+            }
+            if (filter.getSalaryMax() != null) {
+                predicates.add(cb.lessThanOrEqualTo(
+                        cb.coalesce(root.<BigDecimal>get("salaryMin"), root.<BigDecimal>get("salaryMax")), filter.getSalaryMax()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Keyset predicate for (postedAt DESC, id DESC): rows strictly after the cursor
+    public static Specification<Job> after(JobCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            return cb.or(
+                    cb.lessThan(root.<LocalDateTime>get("postedAt"), cursor.postedAt()),
+                    cb.and(
+                            cb.equal(root.get("postedAt"), cursor.postedAt()),
+                            cb.lessThan(root.<Long>get("id"), cursor.id())));
+        };
+    }
+}
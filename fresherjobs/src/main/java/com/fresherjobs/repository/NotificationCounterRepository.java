@@ -0,0 +1,25 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.entity.NotificationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Long> {
+
+    // Creates missing counters from the current unread rows; existing counters are left alone
+    @Modifying
+    @Query(value = "INSERT INTO notification_counters (user_id, unread_count) "
+            + "SELECT u.id, (SELECT COUNT(*) FROM notifications n WHERE n.user_id = u.id AND n.is_read = false) "
+            + "FROM users u WHERE u.id IN (:userIds) ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int seed(Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "UPDATE notification_counters SET unread_count = GREATEST(unread_count - :count, 0) "
+            + "WHERE user_id = :userId", nativeQuery = true)
+    int decrement(Long userId, long count);
+}
@@ -0,0 +1,35 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.entity.Notification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a user's notification feed, ordered by (createdAt DESC, id DESC).
+ * Same opaque token format as {@link JobCursor}.
+ */
+public record NotificationCursor(LocalDateTime createdAt, Long id) {
+
+    public static NotificationCursor of(Notification notification) {
+        return new NotificationCursor(notification.getCreatedAt(), notification.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NotificationCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new NotificationCursor(LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
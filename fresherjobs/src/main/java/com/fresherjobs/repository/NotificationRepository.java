@@ -1,13 +1,41 @@
 package com.fresherjobs.repository;
 
 import com.fresherjobs.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findAllByUserIdOrderByCreatedAtDesc(Long userId);
     List<Notification> findAllByUserIdAndIsReadFalse(Long userId);
+
+    // Feed pages walk idx_notifications_user_created instead of an offset scan
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findNewestFirst(Long userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId "
+            + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findNewestFirstAfter(Long userId, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    // Replay for a reconnecting live subscriber: everything after the last event id it saw
+    List<Notification> findAllByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Pageable pageable);
+
+    // Only rows that were unread count, so the result can be subtracted from the counter
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false AND n.id IN :ids")
+    int markRead(Long userId, Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllRead(Long userId);
+
+    void deleteAllByUserId(Long userId);
 }
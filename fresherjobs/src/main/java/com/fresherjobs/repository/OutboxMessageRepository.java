@@ -0,0 +1,30 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.entity.OutboxMessage;
+import com.fresherjobs.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // SKIP LOCKED (-2) lets several dispatchers drain the outbox without picking the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m WHERE m.status IN :statuses AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<OutboxMessage> lockDueBatch(Collection<OutboxStatus> statuses, LocalDateTime now, Pageable pageable);
+
+    // Only rows still held by this claim; one whose lease expired may already belong to another dispatcher
+    @Query("SELECT m FROM OutboxMessage m WHERE m.id IN :ids AND m.status = :status AND m.nextAttemptAt = :leaseUntil")
+    List<OutboxMessage> findClaimed(Collection<Long> ids, OutboxStatus status, LocalDateTime leaseUntil);
+}
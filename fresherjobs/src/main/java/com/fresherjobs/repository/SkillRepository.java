@@ -0,0 +1,9 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.entity.Skill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SkillRepository extends JpaRepository<Skill, Integer> {
+}
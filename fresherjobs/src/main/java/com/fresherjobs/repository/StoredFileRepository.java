@@ -0,0 +1,29 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.entity.StoredFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    // Transaction-scoped lock on a key, on this node and any other; only for short transactions,
+    // as it holds a connection until the transaction ends
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended(:storageKey, 0))", nativeQuery = true)
+    int lockKey(String storageKey);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO stored_files (storage_key, storage_type, sha256, size_bytes, url, updated_at) "
+            + "VALUES (:storageKey, :storageType, :sha256, :sizeBytes, :url, :updatedAt) "
+            + "ON CONFLICT (storage_key) DO UPDATE SET storage_type = EXCLUDED.storage_type, "
+            + "sha256 = EXCLUDED.sha256, size_bytes = EXCLUDED.size_bytes, url = EXCLUDED.url, "
+            + "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int upsert(String storageKey, String storageType, String sha256, long sizeBytes, String url,
+               LocalDateTime updatedAt);
+}
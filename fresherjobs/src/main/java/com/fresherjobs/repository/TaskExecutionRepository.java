@@ -0,0 +1,23 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.entity.TaskExecution;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskExecutionRepository extends JpaRepository<TaskExecution, Long> {
+
+    List<TaskExecution> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskExecution e WHERE e.startedAt < :cutoff")
+    int deleteStartedBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,48 @@
+package com.fresherjobs.repository;
+
+import com.fresherjobs.entity.UploadTicket;
+import com.fresherjobs.enums.FileKind;
+import com.fresherjobs.enums.UploadStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface UploadTicketRepository extends JpaRepository<UploadTicket, String> {
+
+    Optional<UploadTicket> findByIdAndUserId(String id, Long userId);
+
+    boolean existsByIdAndStatus(String id, UploadStatus status);
+
+    // Only the newest upload of a kind may still be stored; older ones would overwrite it if they finished later
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadTicket t SET t.status = com.fresherjobs.enums.UploadStatus.FAILED, "
+            + "t.error = 'Replaced by a newer upload', t.completedAt = :now "
+            + "WHERE t.userId = :userId AND t.kind = :kind AND t.status = com.fresherjobs.enums.UploadStatus.PENDING")
+    int supersedePending(Long userId, FileKind kind, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadTicket t SET t.status = :status, t.url = :url, t.error = :error, t.completedAt = :completedAt "
+            + "WHERE t.id = :id AND t.status = com.fresherjobs.enums.UploadStatus.PENDING")
+    int complete(String id, UploadStatus status, String url, String error, LocalDateTime completedAt);
+
+    // Tickets whose worker died with its node never complete on their own
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadTicket t SET t.status = com.fresherjobs.enums.UploadStatus.FAILED, "
+            + "t.error = 'Upload did not finish in time', t.completedAt = :now "
+            + "WHERE t.status = com.fresherjobs.enums.UploadStatus.PENDING AND t.createdAt < :cutoff")
+    int failPendingBefore(LocalDateTime cutoff, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadTicket t WHERE t.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
@@ -3,8 +3,10 @@ package com.fresherjobs.repository;
 import com.fresherjobs.entity.User;
 import com.fresherjobs.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +16,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    boolean existsByIdAndIsApprovedTrue(Long id);
+
     List<User> findAllByRole(Role role);
 
     List<User> findAllByRoleAndIsApproved(Role role, Boolean isApproved);
 
     Optional<User> findByResetPasswordToken(String resetPasswordToken);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
 }
@@ -0,0 +1,70 @@
+package com.fresherjobs.security;
+
+import com.fresherjobs.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal stored in the security context for every authenticated request.
+ * Carries the user's id, role and approval state so controllers can hand the
+ * id straight to services via {@code @AuthenticationPrincipal AuthenticatedUser}
+ * instead of resolving the user by email.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final boolean approved;
+    private final int tokenVersion;
+    // Only populated when loaded from the DB for password authentication
+    private final String password;
+
+    public static AuthenticatedUser fromClaims(TokenClaims claims) {
+        return new AuthenticatedUser(
+                claims.userId(),
+                claims.email(),
+                Role.valueOf(claims.role()),
+                Boolean.TRUE.equals(claims.approved()),
+                claims.tokenVersionOrZero(),
+                null);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
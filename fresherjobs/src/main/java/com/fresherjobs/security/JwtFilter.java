@@ -5,9 +5,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -19,8 +21,17 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final String STREAM_PATH = "/api/notifications/stream";
+
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TtlUserCache userCache;
+
+    // When true the principal is built from the verified token claims, with no DB lookup.
+    // That skips revocation: a deleted user, a reset password or a changed approval only
+    // takes effect once the token expires, so the cached lookup is the default.
+    @Value("${app.security.stateless-auth:false}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(
@@ -29,12 +40,18 @@ public class JwtFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
 
         String token = extractTokenFromRequest(request);
+        TokenClaims claims = StringUtils.hasText(token) ? jwtUtil.verify(token) : null;
 
-        if (StringUtils.hasText(token) && jwtUtil.isTokenValid(token)) {
-            String email = jwtUtil.extractEmail(token);
-
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        if (claims != null) {
+            if (claims.email() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = statelessAuth
+                        ? AuthenticatedUser.fromClaims(claims)
+                        : loadUser(claims);
+                if (userDetails == null) {
+                    // Revoked: the request continues unauthenticated
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
@@ -48,11 +65,33 @@ public class JwtFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // The current user behind the token, or null if the user is gone or the token predates a revocation
+    private UserDetails loadUser(TokenClaims claims) {
+        UserDetails userDetails = userCache.getUserFromCache(claims.email());
+        if (userDetails == null) {
+            try {
+                userDetails = userDetailsService.loadUserByUsername(claims.email());
+            } catch (UsernameNotFoundException e) {
+                return null;
+            }
+            userCache.putUserInCache(userDetails);
+        }
+        if (userDetails instanceof AuthenticatedUser user
+                && (!user.getId().equals(claims.userId()) || user.getTokenVersion() != claims.tokenVersionOrZero())) {
+            return null;
+        }
+        return userDetails;
+    }
+
     private String extractTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        // EventSource cannot set headers, so the notification stream also accepts the token as a parameter
+        if (STREAM_PATH.equals(request.getServletPath())) {
+            return request.getParameter("access_token");
+        }
         return null;
     }
 }
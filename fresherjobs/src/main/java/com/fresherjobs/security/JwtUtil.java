@@ -10,20 +10,37 @@ import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Component
 public class JwtUtil {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private final long jwtExpiration;
 
-    @Value("${app.jwt.expiration}")
-    private long jwtExpiration;
+    // Decoded once; Key and JwtParser are immutable and thread-safe
+    private final Key signingKey;
+    private final JwtParser parser;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Recently verified token -> its claims, so repeat requests skip signature checks. Keyed on the whole
+    // token, so only the exact string that was verified gets a hit; hashing it costs far less than an HMAC.
+    private final Map<String, TokenClaims> verifiedTokens;
+
+    public JwtUtil(
+            @Value("${app.jwt.secret}") String jwtSecret,
+            @Value("${app.jwt.expiration}") long jwtExpiration,
+            @Value("${app.jwt.verified-cache-size:4096}") int verifiedCacheSize) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenClaims> eldest) {
+                return size() > verifiedCacheSize;
+            }
+        };
     }
 
     public String generateToken(User user) {
@@ -31,46 +48,75 @@ public class JwtUtil {
         claims.put("userId", user.getId());
         claims.put("email", user.getEmail());
         claims.put("role", user.getRole().name());
+        claims.put("approved", user.getIsApproved());
+        claims.put("ver", user.getTokenVersion());
 
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(user.getEmail())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry, parsing it at most once.
+     * Returns null if the token is malformed, forged or expired.
+     */
+    public TokenClaims verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        TokenClaims cached;
+        synchronized (verifiedTokens) {
+            cached = verifiedTokens.get(token);
+        }
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            synchronized (verifiedTokens) {
+                verifiedTokens.remove(token);
+            }
+            return null;
+        }
+
+        try {
+            // parseClaimsJws also rejects expired tokens
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            TokenClaims verified = new TokenClaims(
+                    claims.getSubject(),
+                    claims.get("userId", Long.class),
+                    claims.get("role", String.class),
+                    claims.get("approved", Boolean.class),
+                    claims.get("ver", Integer.class),
+                    claims.getExpiration().getTime());
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(token, verified);
+            }
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+        TokenClaims claims = verify(token);
+        return claims != null ? claims.email() : null;
     }
 
     public Long extractUserId(String token) {
-        return extractAllClaims(token).get("userId", Long.class);
+        TokenClaims claims = verify(token);
+        return claims != null ? claims.userId() : null;
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        TokenClaims claims = verify(token);
+        return claims != null ? claims.role() : null;
     }
 
     public boolean isTokenValid(String token) {
-        try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verify(token) != null;
     }
 }
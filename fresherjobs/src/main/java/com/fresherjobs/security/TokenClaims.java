@@ -0,0 +1,18 @@
+package com.fresherjobs.security;
+
+/**
+ * Immutable view of a verified JWT's claims. Produced once per token by
+ * {@link JwtUtil#verify(String)} so callers never re-parse the token.
+ */
+public record TokenClaims(String email, Long userId, String role, Boolean approved, Integer tokenVersion,
+                          long expiresAtMillis) {
+
+    // Tokens issued before versioning carry no claim and count as version 0
+    public int tokenVersionOrZero() {
+        return tokenVersion == null ? 0 : tokenVersion;
+    }
+
+    public boolean isExpired() {
+        return expiresAtMillis <= System.currentTimeMillis();
+    }
+}
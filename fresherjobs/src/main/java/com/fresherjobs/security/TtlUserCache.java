@@ -0,0 +1,93 @@
+package com.fresherjobs.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, TTL-evicting cache of {@link UserDetails} keyed by email.
+ * Used by {@link JwtFilter} when authentication falls back to a user lookup.
+ * Services evict an entry whenever the user's credentials, role, approval or
+ * existence change.
+ */
+@Component
+public class TtlUserCache implements UserCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    private record Entry(UserDetails user, long expiresAt) {
+    }
+
+    public TtlUserCache(
+            @Value("${app.security.user-cache.enabled:true}") boolean enabled,
+            @Value("${app.security.user-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${app.security.user-cache.max-size:10000}") int maxSize) {
+        this.enabled = enabled;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        if (!enabled) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(username);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() - System.nanoTime() <= 0) {
+                entries.remove(username);
+                return null;
+            }
+            return entry.user();
+        }
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(user.getUsername(), new Entry(user, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+
+    /**
+     * Evicts now and again once the current transaction commits, so a concurrent
+     * request cannot re-cache the pre-change state in between.
+     */
+    public void evict(String username) {
+        removeUserFromCache(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeUserFromCache(username);
+                }
+            });
+        }
+    }
+}
@@ -3,14 +3,11 @@ package com.fresherjobs.security;
 import com.fresherjobs.entity.User;
 import com.fresherjobs.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -22,10 +19,12 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())))
-                .build();
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getEmail(),
+                user.getRole(),
+                Boolean.TRUE.equals(user.getIsApproved()),
+                user.getTokenVersion() == null ? 0 : user.getTokenVersion(),
+                user.getPassword());
     }
 }
@@ -2,12 +2,17 @@ package com.fresherjobs.service;
 
 import com.fresherjobs.dto.response.JobResponse;
 import com.fresherjobs.entity.Job;
+import com.fresherjobs.entity.Skill;
+import com.fresherjobs.entity.TaskExecution;
 import com.fresherjobs.entity.User;
 import com.fresherjobs.enums.Role;
+import com.fresherjobs.event.JobChangedEvent;
 import com.fresherjobs.exception.ResourceNotFoundException;
 import com.fresherjobs.repository.JobRepository;
 import com.fresherjobs.repository.UserRepository;
+import com.fresherjobs.security.TtlUserCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +25,11 @@ public class AdminService {
 
     private final UserRepository userRepository;
     private final JobRepository jobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TtlUserCache userCache;
+    private final ClusterTaskCoordinator clusterTaskCoordinator;
+    private final SkillDictionary skillDictionary;
+    private final JobService jobService;
 
     public List<User> getAllRecruiters() {
         return userRepository.findAllByRole(Role.RECRUITER);
@@ -35,6 +45,7 @@ public class AdminService {
         }
 
         recruiter.setIsApproved(true);
+        userCache.evict(recruiter.getEmail());
         return userRepository.save(recruiter);
     }
 
@@ -47,5 +58,18 @@ public class AdminService {
         Job job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new ResourceNotFoundException("Job", jobId));
         jobRepository.delete(job);
+        eventPublisher.publishEvent(JobChangedEvent.removed(jobId));
+    }
+
+    // Not @Transactional: the dictionary writes in its own short transactions
+    public Skill addSkill(String name) {
+        Skill skill = skillDictionary.add(name);
+        // Recommendations score on the bitsets the add just re-encoded
+        jobService.buildReadModels();
+        return skill;
+    }
+
+    public List<TaskExecution> getTaskExecutions(int limit) {
+        return clusterTaskCoordinator.getRecentExecutions(limit);
     }
 }
@@ -0,0 +1,151 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.entity.Application;
+import com.fresherjobs.entity.Job;
+import com.fresherjobs.entity.User;
+import com.fresherjobs.exception.LeaseLostException;
+import com.fresherjobs.repository.ApplicationRepository;
+import com.fresherjobs.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Tells recruiters about new applications. In digest mode an application is only
+ * flagged as pending; once the oldest pending application of a job is older than
+ * {@code app.digest.window-seconds}, or {@code app.digest.max-batch} have piled up,
+ * the recruiter gets one summary email and one aggregated notification for them.
+ * The flag lives on the application row, so pending digests survive a restart.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApplicationDigestService {
+
+    // Names listed in a digest before it falls back to "and N more"
+    private static final int MAX_LISTED_APPLICANTS = 10;
+
+    private final ApplicationRepository applicationRepository;
+    private final JobRepository jobRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterTaskCoordinator clusterTaskCoordinator;
+
+    @Value("${app.digest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.digest.window-seconds:900}")
+    private long windowSeconds;
+
+    @Value("${app.digest.max-batch:50}")
+    private int maxBatch;
+
+    // Called by applyForJob before the application is saved
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onNewApplication(Application application) {
+        if (enabled) {
+            application.setDigestPending(true);
+            return;
+        }
+        Job job = application.getJob();
+        notifyRecruiter(job, job.getCompany().getUser(), List.of(application.getUser()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.digest.flush-interval-ms:30000}")
+    public void flushDue() {
+        if (!enabled) {
+            return;
+        }
+        clusterTaskCoordinator.runExclusively("application-digest-flush", lease -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusSeconds(windowSeconds);
+            for (ApplicationRepository.PendingDigest pending : applicationRepository.findPendingDigests()) {
+                boolean windowElapsed = !pending.getOldest().isAfter(cutoff);
+                long remaining = pending.getPending();
+                try {
+                    while (remaining >= maxBatch || (windowElapsed && remaining > 0)) {
+                        Integer sent = transactionTemplate.execute(status -> {
+                            lease.fence();
+                            return flush(pending.getJobId());
+                        });
+                        if (sent == null || sent == 0) {
+                            break;
+                        }
+                        remaining -= sent;
+                    }
+                } catch (LeaseLostException e) {
+                    throw e;
+                } catch (Exception e) {
+                    log.error("Failed to flush application digest for job {}: {}", pending.getJobId(), e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    private int flush(Long jobId) {
+        List<Application> applications = applicationRepository.lockPendingDigest(jobId, PageRequest.of(0, maxBatch));
+        if (applications.isEmpty()) {
+            return 0;
+        }
+        Job job = jobRepository.findById(jobId).orElse(null);
+        if (job != null) {
+            List<User> applicants = applications.stream().map(Application::getUser).collect(Collectors.toList());
+            notifyRecruiter(job, job.getCompany().getUser(), applicants);
+        }
+        applicationRepository.clearDigestPending(
+                applications.stream().map(Application::getId).collect(Collectors.toList()));
+        return applications.size();
+    }
+
+    private void notifyRecruiter(Job job, User recruiter, List<User> applicants) {
+        if (applicants.size() == 1) {
+            User applicant = applicants.get(0);
+            outboxService.enqueueNotification(recruiter.getId(),
+                    "New application received for job: " + job.getTitle() + " from " + applicant.getName());
+            outboxService.enqueueEmail(
+                    recruiter.getEmail(),
+                    "New Application for " + job.getTitle(),
+                    "new-application",
+                    Map.of(
+                            "recruiterName", recruiter.getName(),
+                            "jobTitle", job.getTitle(),
+                            "applicantName", applicant.getName(),
+                            "applicantEmail", applicant.getEmail()));
+            return;
+        }
+
+        int count = applicants.size();
+        String names = applicants.stream().limit(3).map(User::getName).collect(Collectors.joining(", "));
+        outboxService.enqueueNotification(recruiter.getId(),
+                count + " new applications received for job: " + job.getTitle() + " from " + names
+                        + (count > 3 ? " and " + (count - 3) + " more" : ""));
+
+        // The template renders this as plain text with preserved line breaks
+        String applicantList = applicants.stream()
+                .limit(MAX_LISTED_APPLICANTS)
+                .map(u -> u.getName() + " (" + u.getEmail() + ")")
+                .collect(Collectors.joining("\n"));
+        if (count > MAX_LISTED_APPLICANTS) {
+            applicantList += "\n…and " + (count - MAX_LISTED_APPLICANTS) + " more";
+        }
+        outboxService.enqueueEmail(
+                recruiter.getEmail(),
+                count + " New Applications for " + job.getTitle(),
+                "new-application-digest",
+                Map.of(
+                        "recruiterName", recruiter.getName(),
+                        "jobTitle", job.getTitle(),
+                        "applicationCount", String.valueOf(count),
+                        "applicantList", applicantList));
+    }
+}
@@ -1,46 +1,62 @@
 package com.fresherjobs.service;
 
+import com.fresherjobs.dto.request.ApplicantFilterRequest;
 import com.fresherjobs.dto.request.ApplicationRequest;
+import com.fresherjobs.dto.response.ApplicantPageResponse;
 import com.fresherjobs.dto.response.ApplicationResponse;
+import com.fresherjobs.dto.response.RankedApplicantResponse;
 import com.fresherjobs.entity.Application;
 import com.fresherjobs.entity.FresherProfile;
 import com.fresherjobs.entity.Job;
-import com.fresherjobs.entity.Notification;
 import com.fresherjobs.entity.User;
 import com.fresherjobs.enums.AppStatus;
-import com.fresherjobs.enums.NotifType;
+import com.fresherjobs.enums.ApplicantSort;
+import com.fresherjobs.enums.ImageVariant;
 import com.fresherjobs.enums.Role;
 import com.fresherjobs.exception.ResourceNotFoundException;
 import com.fresherjobs.repository.ApplicationRepository;
 import com.fresherjobs.repository.FresherProfileRepository;
 import com.fresherjobs.repository.JobRepository;
-import com.fresherjobs.repository.NotificationRepository;
 import com.fresherjobs.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ApplicationService {
 
+        private static final int DEFAULT_PAGE_SIZE = 20;
+        private static final int MAX_PAGE_SIZE = 100;
+        // Deepest (page + 1) * size the ranked view will keep in its heap
+        private static final int MAX_RANKED_WINDOW = 5000;
+        private static final int COVER_LETTER_PREVIEW = 280;
+
         private final ApplicationRepository applicationRepository;
         private final JobRepository jobRepository;
         private final UserRepository userRepository;
-        private final NotificationRepository notificationRepository;
         private final FresherProfileRepository fresherProfileRepository;
-        private final EmailService emailService;
+        private final OutboxService outboxService;
+        private final ApplicationDigestService applicationDigestService;
+        private final FileStorage fileStorage;
 
         @Transactional
-        public ApplicationResponse applyForJob(Long jobId, ApplicationRequest request, String userEmail) {
-                User user = userRepository.findByEmail(userEmail)
+        public ApplicationResponse applyForJob(Long jobId, ApplicationRequest request, Long userId) {
+                // Loaded by id because the applicant's name and email go into the notifications below
+                User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
                 if (user.getRole() != Role.JOB_SEEKER) {
@@ -66,31 +82,12 @@ public class ApplicationService {
                                 .status(AppStatus.APPLIED)
                                 .build();
 
+                // Recruiter is notified immediately or in the next digest, depending on app.digest.enabled
+                applicationDigestService.onNewApplication(application);
                 application = applicationRepository.save(application);
 
-                // Notify the recruiter (as IN_APP notification)
-                Notification recruiterNotif = Notification.builder()
-                                .user(job.getCompany().getUser())
-                                .message("New application received for job: " + job.getTitle() + " from "
-                                                + user.getName())
-                                .type(NotifType.IN_APP)
-                                .build();
-                notificationRepository.save(recruiterNotif);
-
-                // Notify the recruiter via Email
-                String recruiterEmail = job.getCompany().getUser().getEmail();
-                emailService.sendHtmlEmail(
-                                recruiterEmail,
-                                "New Application for " + job.getTitle(),
-                                "new-application",
-                                Map.of(
-                                                "recruiterName", job.getCompany().getUser().getName(),
-                                                "jobTitle", job.getTitle(),
-                                                "applicantName", user.getName(),
-                                                "applicantEmail", user.getEmail()));
-
-                // Notify the applicant via Email
-                emailService.sendHtmlEmail(
+                // Notify the applicant via Email (through the outbox, so only if this transaction commits)
+                outboxService.enqueueEmail(
                                 user.getEmail(),
                                 "Application Submitted: " + job.getTitle(),
                                 "application-submitted",
@@ -102,41 +99,115 @@ public class ApplicationService {
                 return mapToResponse(application);
         }
 
-        public List<ApplicationResponse> getMyApplications(String userEmail) {
-                User user = userRepository.findByEmail(userEmail)
-                                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-                return applicationRepository.findAllByUserId(user.getId())
-                                .stream().map(this::mapToResponse)
-                                .collect(Collectors.toList());
+        public List<ApplicationResponse> getMyApplications(Long userId) {
+                return mapToResponses(applicationRepository.findAllWithDetailsByUserId(userId));
         }
 
-        public List<ApplicationResponse> getApplicantsForJob(Long jobId, String recruiterEmail) {
-                User recruiter = userRepository.findByEmail(recruiterEmail)
-                                .orElseThrow(() -> new ResourceNotFoundException("Recruiter not found"));
+        public List<ApplicationResponse> getApplicantsForJob(Long jobId, Long recruiterId) {
+                Job job = jobRepository.findById(jobId)
+                                .orElseThrow(() -> new ResourceNotFoundException("Job", jobId));
+
+                if (!job.getCompany().getUser().getId().equals(recruiterId)) {
+                        throw new AccessDeniedException("You are not authorized to view applications for this job");
+                }
+
+                return mapToResponses(applicationRepository.findAllWithDetailsByJobId(jobId));
+        }
 
+        /**
+         * Applicants of a job ranked and filtered server-side. Light rows are streamed from
+         * the DB into a bounded heap that keeps only the first (page + 1) * size in sort
+         * order, so a large pool never materializes; full details are loaded for the
+         * requested page only.
+         */
+        @Transactional(readOnly = true)
+        public ApplicantPageResponse getRankedApplicants(Long jobId, ApplicantFilterRequest filter, Integer page,
+                        Integer size, Long recruiterId) {
                 Job job = jobRepository.findById(jobId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Job", jobId));
 
-                if (!job.getCompany().getUser().getId().equals(recruiter.getId())) {
+                if (!job.getCompany().getUser().getId().equals(recruiterId)) {
                         throw new AccessDeniedException("You are not authorized to view applications for this job");
                 }
 
-                return applicationRepository.findAllByJobId(jobId)
-                                .stream().map(this::mapToResponse)
+                int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+                int pageIndex = page == null ? 0 : Math.max(page, 0);
+                int window = (pageIndex + 1) * pageSize;
+                if (window > MAX_RANKED_WINDOW) {
+                        throw new IllegalArgumentException("Page is too deep; narrow the filters instead");
+                }
+
+                Comparator<RankedRow> order = rankingOrder(filter.getSort() != null ? filter.getSort() : ApplicantSort.SCORE);
+                long[] jobSkills = SkillDictionary.words(job.getSkillBits());
+                int jobSkillCount = SkillDictionary.count(jobSkills);
+
+                // Max-heap on "worst first": the root is the kept row a new row has to beat
+                PriorityQueue<RankedRow> kept = new PriorityQueue<>(window + 1, order.reversed());
+                long matched = 0;
+                try (Stream<ApplicationRepository.ApplicantRow> rows = applicationRepository.streamApplicantRows(
+                                jobId, filter.getStatus(), filter.getMinCgpa(), filter.getGraduationYear())) {
+                        Iterator<ApplicationRepository.ApplicantRow> it = rows.iterator();
+                        while (it.hasNext()) {
+                                ApplicationRepository.ApplicantRow row = it.next();
+                                if (filter.getHasResume() != null && hasResume(row) != filter.getHasResume()) {
+                                        continue;
+                                }
+                                matched++;
+                                RankedRow ranked = rank(row, jobSkills, jobSkillCount, job.getGraduationYear());
+                                if (kept.size() < window) {
+                                        kept.add(ranked);
+                                } else if (order.compare(ranked, kept.peek()) < 0) {
+                                        kept.poll();
+                                        kept.add(ranked);
+                                }
+                        }
+                }
+
+                List<RankedRow> sorted = new ArrayList<>(kept);
+                sorted.sort(order);
+                int from = Math.min(pageIndex * pageSize, sorted.size());
+                List<RankedRow> pageRows = sorted.subList(from, sorted.size());
+
+                Map<Long, Application> details = applicationRepository.findAllWithDetailsByIdIn(
+                                pageRows.stream().map(r -> r.row().getId()).collect(Collectors.toList())).stream()
+                                .collect(Collectors.toMap(Application::getId, Function.identity()));
+                List<RankedRow> present = pageRows.stream()
+                                .filter(r -> details.containsKey(r.row().getId()))
                                 .collect(Collectors.toList());
+                List<ApplicationResponse> responses = mapToResponses(present.stream()
+                                .map(r -> details.get(r.row().getId()))
+                                .collect(Collectors.toList()));
+
+                List<RankedApplicantResponse> content = new ArrayList<>(present.size());
+                for (int i = 0; i < present.size(); i++) {
+                        ApplicationResponse response = responses.get(i);
+                        String coverLetter = response.getCoverLetter();
+                        if (coverLetter != null && coverLetter.length() > COVER_LETTER_PREVIEW) {
+                                response.setCoverLetter(coverLetter.substring(0, COVER_LETTER_PREVIEW) + "…");
+                        }
+                        content.add(RankedApplicantResponse.builder()
+                                        .application(response)
+                                        .score(Math.round(present.get(i).score() * 1000) / 1000.0)
+                                        .matchedSkills(present.get(i).matchedSkills())
+                                        .build());
+                }
+
+                return ApplicantPageResponse.builder()
+                                .content(content)
+                                .page(pageIndex)
+                                .size(pageSize)
+                                .totalMatched(matched)
+                                .hasMore(matched > window)
+                                .build();
         }
 
         @Transactional
         public ApplicationResponse updateApplicationStatus(Long applicationId, AppStatus newStatus,
-                        String recruiterEmail) {
-                User recruiter = userRepository.findByEmail(recruiterEmail)
-                                .orElseThrow(() -> new ResourceNotFoundException("Recruiter not found"));
-
+                        Long recruiterId) {
                 Application application = applicationRepository.findById(applicationId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Application", applicationId));
 
-                if (!application.getJob().getCompany().getUser().getId().equals(recruiter.getId())) {
+                if (!application.getJob().getCompany().getUser().getId().equals(recruiterId)) {
                         throw new AccessDeniedException("You are not authorized to update this application");
                 }
 
@@ -145,12 +216,7 @@ public class ApplicationService {
 
                 // Notify the job seeker about status change
                 String statusMsg = buildStatusMessage(application.getJob().getTitle(), newStatus);
-                Notification notification = Notification.builder()
-                                .user(application.getUser())
-                                .message(statusMsg)
-                                .type(NotifType.IN_APP)
-                                .build();
-                notificationRepository.save(notification);
+                outboxService.enqueueNotification(application.getUser().getId(), statusMsg);
 
                 // Notify the job seeker via Email
                 String subject = "Application Status Update: " + application.getJob().getTitle();
@@ -182,11 +248,44 @@ public class ApplicationService {
                                 statusVars.put("statusTextColor", "#4f46e5");
                         }
                 }
-                emailService.sendHtmlEmail(application.getUser().getEmail(), subject, "status-update", statusVars);
+                outboxService.enqueueEmail(application.getUser().getEmail(), subject, "status-update", statusVars);
 
                 return mapToResponse(application);
         }
 
+        private record RankedRow(ApplicationRepository.ApplicantRow row, double score, int matchedSkills) {
+        }
+
+        // Skill coverage of the job's requirements, graduation-year eligibility and cgpa (out of 10)
+        private static RankedRow rank(ApplicationRepository.ApplicantRow row, long[] jobSkills, int jobSkillCount,
+                        Integer jobGraduationYear) {
+                int matched = SkillDictionary.overlap(jobSkills, SkillDictionary.words(row.getSkillBits()));
+                double skillScore = jobSkillCount == 0 ? 0.5 : (double) matched / jobSkillCount;
+                double yearScore = jobGraduationYear == null || jobGraduationYear.equals(row.getGraduationYear()) ? 1 : 0;
+                double cgpaScore = row.getCgpa() == null ? 0 : Math.min(Math.max(row.getCgpa(), 0), 10) / 10;
+                return new RankedRow(row, 0.6 * skillScore + 0.15 * yearScore + 0.25 * cgpaScore, matched);
+        }
+
+        // Best first; ties fall back to score and then application id so pages are stable
+        private static Comparator<RankedRow> rankingOrder(ApplicantSort sort) {
+                Comparator<RankedRow> byScore = Comparator.comparingDouble(RankedRow::score).reversed();
+                Comparator<RankedRow> primary = switch (sort) {
+                        case SCORE -> byScore;
+                        case CGPA -> Comparator.comparing((RankedRow r) -> r.row().getCgpa(),
+                                        Comparator.nullsLast(Comparator.reverseOrder())).thenComparing(byScore);
+                        case NEWEST -> Comparator.comparing((RankedRow r) -> r.row().getAppliedAt(),
+                                        Comparator.nullsLast(Comparator.reverseOrder()));
+                        case OLDEST -> Comparator.comparing((RankedRow r) -> r.row().getAppliedAt(),
+                                        Comparator.nullsLast(Comparator.naturalOrder()));
+                };
+                return primary.thenComparing(byScore).thenComparing(r -> r.row().getId());
+        }
+
+        private static boolean hasResume(ApplicationRepository.ApplicantRow row) {
+                return (row.getResumeUrl() != null && !row.getResumeUrl().isBlank())
+                                || (row.getProfileResumeUrl() != null && !row.getProfileResumeUrl().isBlank());
+        }
+
         private String buildStatusMessage(String jobTitle, AppStatus status) {
                 return switch (status) {
                         case SHORTLISTED -> "Congratulations! You have been shortlisted for: " + jobTitle;
@@ -197,7 +296,28 @@ public class ApplicationService {
                 };
         }
 
+        // Bulk mapping: one IN query for all applicant profiles instead of one lookup per application
+        private List<ApplicationResponse> mapToResponses(List<Application> applications) {
+                Set<Long> userIds = applications.stream()
+                                .map(app -> app.getUser().getId())
+                                .collect(Collectors.toSet());
+
+                Map<Long, FresherProfile> profilesByUserId = userIds.isEmpty()
+                                ? Map.of()
+                                : fresherProfileRepository.findAllByUserIdIn(userIds).stream()
+                                                .collect(Collectors.toMap(p -> p.getUser().getId(), Function.identity()));
+
+                return applications.stream()
+                                .map(app -> mapToResponse(app, profilesByUserId.get(app.getUser().getId())))
+                                .collect(Collectors.toList());
+        }
+
         private ApplicationResponse mapToResponse(Application app) {
+                return mapToResponse(app,
+                                fresherProfileRepository.findByUserId(app.getUser().getId()).orElse(null));
+        }
+
+        private ApplicationResponse mapToResponse(Application app, FresherProfile profile) {
                 ApplicationResponse.ApplicationResponseBuilder builder = ApplicationResponse.builder()
                                 .id(app.getId())
                                 .jobId(app.getJob().getId())
@@ -212,9 +332,10 @@ public class ApplicationService {
                                 .appliedAt(app.getAppliedAt());
 
                 // Enrich with profile data
-                Optional<FresherProfile> profileOpt = fresherProfileRepository.findByUserId(app.getUser().getId());
-                profileOpt.ifPresent(profile -> {
+                if (profile != null) {
                         builder.profilePhoto(profile.getProfilePhoto())
+                                        .profilePhotoThumbnail(profile.getProfilePhoto() == null ? null
+                                                        : fileStorage.variantUrl(profile.getProfilePhoto(), ImageVariant.THUMB))
                                         .collegeName(profile.getCollegeName())
                                         .degree(profile.getDegree())
                                         .graduationYear(profile.getGraduationYear())
@@ -226,7 +347,7 @@ public class ApplicationService {
                                         && profile.getResumeUrl() != null) {
                                 builder.resumeUrl(profile.getResumeUrl());
                         }
-                });
+                }
 
                 return builder.build();
         }
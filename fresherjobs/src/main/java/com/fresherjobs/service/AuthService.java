@@ -10,6 +10,7 @@ import com.fresherjobs.exception.ResourceNotFoundException;
 import com.fresherjobs.repository.CompanyRepository;
 import com.fresherjobs.repository.UserRepository;
 import com.fresherjobs.security.JwtUtil;
+import com.fresherjobs.security.TtlUserCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -31,6 +32,7 @@ public class AuthService {
         private final JwtUtil jwtUtil;
         private final AuthenticationManager authenticationManager;
         private final EmailService emailService;
+        private final TtlUserCache userCache;
 
         @Transactional
         public AuthResponse register(RegisterRequest request) {
@@ -131,7 +133,10 @@ public class AuthService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetPasswordToken(null);
                 user.setResetPasswordTokenExpiry(null);
+                // Every token issued with the old password stops working
+                user.setTokenVersion(user.getTokenVersion() + 1);
 
                 userRepository.save(user);
+                userCache.evict(user.getEmail());
         }
 }
@@ -0,0 +1,76 @@
+package com.fresherjobs.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.fresherjobs.enums.FileKind;
+import com.fresherjobs.enums.ImageVariant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Uploads never hold a whole file on the heap: Cloudinary is handed the file staged
+ * by {@link UploadStaging}, which its HTTP client streams from disk.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryFileStorage implements FileStorage {
+
+    private static final String IMAGE_UPLOAD_PATH = "/image/upload/";
+
+    private final Cloudinary cloudinary;
+
+    /**
+     * Upload to Cloudinary with a fixed public_id: images as images, everything
+     * else (PDF, DOC) as raw files. Re-uploading with the same publicId overwrites
+     * the file, keeping the same URL.
+     */
+    @Override
+    public String store(Path source, String originalFilename, FileKind kind, String publicId) {
+        try {
+            Map<?, ?> result = cloudinary.uploader().upload(source.toFile(), ObjectUtils.asMap(
+                    "folder", "fresher-jobs/" + kind.getFolder(),
+                    "public_id", publicId,
+                    "overwrite", true,
+                    "invalidate", true,
+                    "resource_type", resourceType(kind)));
+            return (String) result.get("secure_url");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to upload file to Cloudinary: " + e.getMessage(), e);
+        }
+    }
+
+    // Cloudinary resizes on its CDN: a crop-to-fill transformation goes right after /image/upload/
+    @Override
+    public String variantUrl(String url, ImageVariant variant) {
+        int at = url == null ? -1 : url.indexOf(IMAGE_UPLOAD_PATH);
+        if (at < 0) {
+            return url;
+        }
+        int size = variant.getSize();
+        int end = at + IMAGE_UPLOAD_PATH.length();
+        return url.substring(0, end) + "c_fill,g_auto,w_" + size + ",h_" + size + ",f_auto,q_auto/" + url.substring(end);
+    }
+
+    /**
+     * Delete a file from Cloudinary by its public ID.
+     */
+    @Override
+    public void delete(FileKind kind, String publicId) {
+        try {
+            cloudinary.uploader().destroy("fresher-jobs/" + kind.getFolder() + "/" + publicId,
+                    ObjectUtils.asMap("resource_type", resourceType(kind), "invalidate", true));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete file from Cloudinary: " + e.getMessage(), e);
+        }
+    }
+
+    private static String resourceType(FileKind kind) {
+        return kind.isImage() ? "image" : "raw";
+    }
+}
@@ -0,0 +1,232 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.entity.TaskExecution;
+import com.fresherjobs.enums.TaskRunStatus;
+import com.fresherjobs.exception.LeaseLostException;
+import com.fresherjobs.repository.TaskExecutionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Makes a scheduled task run on one node per cluster. Every replica still fires its
+ * {@code @Scheduled} trigger, but only the node that wins the row in
+ * {@code scheduler_leases} runs the body. The lease is renewed in the background
+ * while the task runs and released when it ends; a crashed holder's lease simply
+ * expires after {@code app.scheduling.lease-ttl-ms}.
+ *
+ * Each acquisition bumps the task's fencing token. Tasks call {@link Lease#fence()}
+ * first thing in each write transaction: it checks the token and share-locks the
+ * lease row in the same statement, so a takeover waits for that transaction to end
+ * and a node that stalled past its lease cannot commit after the new holder starts.
+ * All lease times use the database clock, so replicas with skewed clocks still agree
+ * on expiry.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClusterTaskCoordinator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutionRepository executionRepository;
+
+    @Value("${app.scheduling.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${app.scheduling.lease-ttl-ms:60000}")
+    private long leaseTtlMs;
+
+    @Value("${app.scheduling.history-retention-days:7}")
+    private int historyRetentionDays;
+
+    private String nodeId;
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "task-lease-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void init() {
+        nodeId = StringUtils.hasText(configuredNodeId) ? configuredNodeId : defaultNodeId();
+        log.info("Cluster task coordinator running as node {}", nodeId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    /**
+     * Runs {@code task} if this node can take the lease for {@code taskName}; returns
+     * false without running it when another node holds an unexpired lease.
+     */
+    public boolean runExclusively(String taskName, Consumer<Lease> task) {
+        Long token = tryAcquire(taskName);
+        if (token == null) {
+            log.debug("Skipping {}: lease held by another node", taskName);
+            return false;
+        }
+
+        Lease lease = new Lease(taskName, token);
+        TaskExecution execution = executionRepository.save(TaskExecution.builder()
+                .taskName(taskName)
+                .owner(nodeId)
+                .fencingToken(token)
+                .status(TaskRunStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build());
+        long renewEvery = Math.max(leaseTtlMs / 3, 1);
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(lease::renew, renewEvery, renewEvery,
+                TimeUnit.MILLISECONDS);
+        try {
+            task.accept(lease);
+            execution.setStatus(lease.lost ? TaskRunStatus.LEASE_LOST : TaskRunStatus.SUCCEEDED);
+        } catch (LeaseLostException e) {
+            execution.setStatus(TaskRunStatus.LEASE_LOST);
+            execution.setError(e.getMessage());
+            log.warn("{} stopped: {}", taskName, e.getMessage());
+        } catch (RuntimeException e) {
+            execution.setStatus(TaskRunStatus.FAILED);
+            execution.setError(e.getMessage());
+            log.error("{} failed: {}", taskName, e.getMessage(), e);
+        } finally {
+            renewal.cancel(false);
+            release(lease);
+            execution.setFinishedAt(LocalDateTime.now());
+            executionRepository.save(execution);
+        }
+        return true;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public List<TaskExecution> getRecentExecutions(int limit) {
+        return executionRepository.findAllByOrderByStartedAtDesc(PageRequest.of(0, Math.min(Math.max(limit, 1), 500)));
+    }
+
+    @Scheduled(cron = "${app.scheduling.history-prune-cron:0 30 3 * * *}")
+    public void pruneHistory() {
+        runExclusively("task-history-prune", lease -> {
+            Integer deleted = transactionTemplate.execute(status -> {
+                lease.fence();
+                return executionRepository.deleteStartedBefore(LocalDateTime.now().minusDays(historyRetentionDays));
+            });
+            log.info("Pruned {} task execution records", deleted);
+        });
+    }
+
+    // Takes the lease if it is free, expired, or already ours; returns the new fencing token
+    private Long tryAcquire(String taskName) {
+        List<Long> tokens = jdbcTemplate.queryForList(
+                "INSERT INTO scheduler_leases (task_name, owner, fencing_token, lease_until, acquired_at) "
+                        + "VALUES (?, ?, 1, LOCALTIMESTAMP + ? * INTERVAL '1 millisecond', LOCALTIMESTAMP) "
+                        + "ON CONFLICT (task_name) DO UPDATE SET owner = EXCLUDED.owner, "
+                        + "fencing_token = scheduler_leases.fencing_token + 1, "
+                        + "lease_until = EXCLUDED.lease_until, acquired_at = EXCLUDED.acquired_at "
+                        + "WHERE scheduler_leases.lease_until < LOCALTIMESTAMP OR scheduler_leases.owner = EXCLUDED.owner "
+                        + "RETURNING fencing_token",
+                Long.class, taskName, nodeId, leaseTtlMs);
+        return tokens.isEmpty() ? null : tokens.get(0);
+    }
+
+    // Expires the lease now, keeping the token so the next holder gets a higher one
+    private void release(Lease lease) {
+        try {
+            jdbcTemplate.update("UPDATE scheduler_leases SET lease_until = LOCALTIMESTAMP "
+                    + "WHERE task_name = ? AND owner = ? AND fencing_token = ?",
+                    lease.taskName, nodeId, lease.fencingToken);
+        } catch (RuntimeException e) {
+            // The lease will lapse on its own after the TTL
+            log.warn("Failed to release lease for {}: {}", lease.taskName, e.getMessage());
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    // Handle for the running task: its fencing token and the guard for its writes
+    public final class Lease {
+
+        private final String taskName;
+        private final long fencingToken;
+        private volatile boolean lost;
+
+        private Lease(String taskName, long fencingToken) {
+            this.taskName = taskName;
+            this.fencingToken = fencingToken;
+        }
+
+        public long getFencingToken() {
+            return fencingToken;
+        }
+
+        /**
+         * Guards the writes of the current transaction: throws LeaseLostException unless this
+         * token still holds an unexpired lease, and otherwise keeps the lease row share-locked
+         * until the transaction ends. Taking the lease over updates that row, so a new holder
+         * cannot get its token until these writes are committed or rolled back.
+         */
+        public void fence() {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw new IllegalStateException("Lease.fence() must run inside the transaction it guards");
+            }
+            // clock_timestamp(): LOCALTIMESTAMP is frozen at the start of the transaction
+            List<Long> held = lost ? List.of() : jdbcTemplate.queryForList(
+                    "SELECT fencing_token FROM scheduler_leases WHERE task_name = ? AND fencing_token = ? "
+                            + "AND lease_until > clock_timestamp()::timestamp FOR SHARE",
+                    Long.class, taskName, fencingToken);
+            if (held.isEmpty()) {
+                lost = true;
+                throw new LeaseLostException(taskName, fencingToken);
+            }
+        }
+
+        private void renew() {
+            if (lost) {
+                return;
+            }
+            try {
+                int renewed = jdbcTemplate.update(
+                        "UPDATE scheduler_leases SET lease_until = LOCALTIMESTAMP + ? * INTERVAL '1 millisecond' "
+                                + "WHERE task_name = ? AND owner = ? AND fencing_token = ?",
+                        leaseTtlMs, taskName, nodeId, fencingToken);
+                if (renewed == 0) {
+                    lost = true;
+                    log.warn("Lease for {} (token {}) was taken over", taskName, fencingToken);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to renew lease for {}: {}", taskName, e.getMessage());
+            }
+        }
+    }
+}
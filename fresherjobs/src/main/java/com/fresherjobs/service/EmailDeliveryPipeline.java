@@ -0,0 +1,318 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.enums.EmailPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedicated email execution subsystem. Outbound emails wait in one bounded queue
+ * per {@link EmailPriority} lane, and a small pool of sender threads always drains
+ * the HIGH lane before BULK. Sender threads group messages of one lane into Brevo
+ * batch requests using {@code messageVersions}, and a token bucket holds them to
+ * {@code spring.brevo.rate.sends-per-second}. BULK batches never borrow from the
+ * bucket, so HIGH mail only waits behind earlier HIGH mail.
+ * <p>
+ * Overflow policy: a HIGH submit waits up to {@code high-offer-timeout-ms} for
+ * space and a BULK submit fails at once. In both cases a rejected message's future
+ * fails, so callers that retry (the outbox) back off instead of piling up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailDeliveryPipeline {
+
+    private final RestTemplate brevoRestTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.brevo.api.url}")
+    private String brevoApiUrl;
+
+    @Value("${spring.brevo.api.key}")
+    private String apiKey;
+
+    @Value("${spring.brevo.sender.email}")
+    private String fromEmail;
+
+    @Value("${spring.brevo.sender.name}")
+    private String fromName;
+
+    @Value("${spring.brevo.batch.size:50}")
+    private int batchSize;
+
+    @Value("${spring.brevo.batch.linger-ms:200}")
+    private long lingerMs;
+
+    @Value("${spring.brevo.queue.high-capacity:1000}")
+    private int highCapacity;
+
+    @Value("${spring.brevo.queue.bulk-capacity:10000}")
+    private int bulkCapacity;
+
+    @Value("${spring.brevo.queue.high-offer-timeout-ms:500}")
+    private long highOfferTimeoutMs;
+
+    @Value("${spring.brevo.senders:2}")
+    private int senderThreads;
+
+    @Value("${spring.brevo.rate.sends-per-second:10}")
+    private double sendsPerSecond;
+
+    private final Map<EmailPriority, BlockingQueue<OutboundEmail>> lanes = new EnumMap<>(EmailPriority.class);
+    private final List<Thread> senders = new ArrayList<>();
+    private TokenBucket rateLimiter;
+    private volatile boolean running;
+
+    private record OutboundEmail(EmailPriority priority, String to, String subject, String htmlContent,
+                                 String textContent, long enqueuedAt, CompletableFuture<Void> result) {
+    }
+
+    @PostConstruct
+    void start() {
+        lanes.put(EmailPriority.HIGH, new LinkedBlockingQueue<>(highCapacity));
+        lanes.put(EmailPriority.BULK, new LinkedBlockingQueue<>(bulkCapacity));
+        lanes.forEach((priority, queue) ->
+                meterRegistry.gauge("email.queue.depth", Tags.of("lane", priority.name()),
+                        queue, BlockingQueue::size));
+        rateLimiter = new TokenBucket(sendsPerSecond);
+
+        running = true;
+        for (int i = 0; i < senderThreads; i++) {
+            Thread sender = new Thread(this::runLoop, "email-sender-" + i);
+            sender.setDaemon(true);
+            sender.start();
+            senders.add(sender);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread sender : senders) {
+            sender.interrupt();
+        }
+        for (Thread sender : senders) {
+            sender.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public CompletableFuture<Void> submitHtml(EmailPriority priority, String to, String subject, String html) {
+        return submit(new OutboundEmail(priority, to, subject, html, null, System.nanoTime(), new CompletableFuture<>()));
+    }
+
+    public CompletableFuture<Void> submitText(EmailPriority priority, String to, String subject, String text) {
+        return submit(new OutboundEmail(priority, to, subject, null, text, System.nanoTime(), new CompletableFuture<>()));
+    }
+
+    private CompletableFuture<Void> submit(OutboundEmail email) {
+        BlockingQueue<OutboundEmail> lane = lanes.get(email.priority());
+        boolean accepted;
+        try {
+            accepted = email.priority() == EmailPriority.HIGH
+                    ? lane.offer(email, highOfferTimeoutMs, TimeUnit.MILLISECONDS)
+                    : lane.offer(email);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            meterRegistry.counter("email.rejected", "lane", email.priority().name()).increment();
+            email.result().completeExceptionally(
+                    new IllegalStateException("Email " + email.priority() + " lane is full"));
+        }
+        return email.result();
+    }
+
+    private void runLoop() {
+        BlockingQueue<OutboundEmail> high = lanes.get(EmailPriority.HIGH);
+        BlockingQueue<OutboundEmail> bulk = lanes.get(EmailPriority.BULK);
+        List<OutboundEmail> batch = new ArrayList<>(batchSize);
+        while (running || !high.isEmpty() || !bulk.isEmpty()) {
+            try {
+                // A HIGH batch goes out immediately with whatever HIGH mail is waiting
+                if (high.drainTo(batch, batchSize) > 0) {
+                    rateLimiter.acquire(batch.size());
+                } else {
+                    OutboundEmail first = bulk.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    // BULK messages linger briefly to fill the batch, unless HIGH mail turns up meanwhile
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                    while (batch.size() < batchSize && high.isEmpty()) {
+                        long remaining = deadline - System.nanoTime();
+                        OutboundEmail next = remaining > 0 ? bulk.poll(remaining, TimeUnit.NANOSECONDS) : bulk.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    rateLimiter.acquireWithoutDebt(batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: flush whatever was collected, then keep draining until both lanes are empty
+                high.drainTo(batch, batchSize - batch.size());
+                bulk.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<OutboundEmail> batch) {
+        long now = System.nanoTime();
+        for (OutboundEmail email : batch) {
+            Timer.builder("email.queue.latency")
+                    .tag("lane", email.priority().name())
+                    .register(meterRegistry)
+                    .record(now - email.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+
+        // HTML and plain-text messages can't share a base message, so send them as separate requests
+        List<OutboundEmail> html = new ArrayList<>();
+        List<OutboundEmail> text = new ArrayList<>();
+        for (OutboundEmail email : batch) {
+            (email.htmlContent() != null ? html : text).add(email);
+        }
+        send(html, "htmlContent");
+        send(text, "textContent");
+    }
+
+    private void send(List<OutboundEmail> emails, String contentField) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        OutboundEmail first = emails.get(0);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("sender", Map.of("name", fromName, "email", fromEmail));
+        payload.put("subject", first.subject());
+        payload.put(contentField, content(first));
+
+        if (emails.size() == 1) {
+            payload.put("to", List.of(Map.of("email", first.to())));
+        } else {
+            List<Map<String, Object>> versions = new ArrayList<>(emails.size());
+            for (OutboundEmail email : emails) {
+                versions.add(Map.of(
+                        "to", List.of(Map.of("email", email.to())),
+                        "subject", email.subject(),
+                        contentField, content(email)));
+            }
+            payload.put("messageVersions", versions);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("api-key", apiKey);
+
+        long start = System.nanoTime();
+        try {
+            brevoRestTemplate.postForEntity(brevoApiUrl, new HttpEntity<>(payload, headers), String.class);
+            emails.forEach(email -> {
+                meterRegistry.counter("email.sent", "lane", email.priority().name()).increment();
+                email.result().complete(null);
+            });
+            log.info("Sent {} email(s) to Brevo in one request", emails.size());
+        } catch (Exception e) {
+            log.error("Brevo batch of {} email(s) failed: {}", emails.size(), e.getMessage());
+            emails.forEach(email -> email.result().completeExceptionally(e));
+        } finally {
+            meterRegistry.timer("email.send.duration").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String content(OutboundEmail email) {
+        return email.htmlContent() != null ? email.htmlContent() : email.textContent();
+    }
+
+    /**
+     * Token bucket refilled continuously at {@code ratePerSecond}, holding at most one
+     * second's worth of tokens. A non-positive rate disables limiting.
+     * <p>
+     * {@link #acquire} reserves its permits at once and may leave the bucket in debt;
+     * {@link #acquireWithoutDebt} only takes tokens that are already there, a few at a
+     * time. A BULK batch therefore never pushes the debt that a later HIGH batch would
+     * have to wait out; instead HIGH reservations jump ahead of a BULK batch still filling up.
+     */
+    private static final class TokenBucket {
+
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double ratePerSecond) {
+            this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, ratePerSecond);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        void acquire(int permits) throws InterruptedException {
+            if (ratePerNano <= 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                // Going negative reserves the permits; the deficit is paid off by waiting
+                tokens -= permits;
+                waitNanos = tokens >= 0 ? 0 : (long) (-tokens / ratePerNano);
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+
+        void acquireWithoutDebt(int permits) throws InterruptedException {
+            if (ratePerNano <= 0) {
+                return;
+            }
+            double needed = permits;
+            while (true) {
+                long waitNanos;
+                synchronized (this) {
+                    refill();
+                    double taken = Math.min(needed, Math.max(0, tokens));
+                    tokens -= taken;
+                    needed -= taken;
+                    if (needed <= 0) {
+                        return;
+                    }
+                    // Wait for the next token, or for a HIGH reservation's debt to be paid off
+                    waitNanos = (long) ((1 - tokens) / ratePerNano);
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.max(1, waitNanos));
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -1,98 +1,67 @@
 package com.fresherjobs.service;
 
+import com.fresherjobs.enums.EmailPriority;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.http.*;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Entry point for outbound email. Sends never block on the provider: messages are
+ * handed to {@link EmailDeliveryPipeline}, which runs them on its own sender threads
+ * in the lane picked by {@link EmailPriority#forTemplate(String)}.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class EmailService {
 
-    @Value("${spring.brevo.api.url}")
-    private String brevoApiUrl;
-
-    @Value("${spring.brevo.api.key}")
-    private String apiKey;
-
-    @Value("${spring.brevo.sender.email}")
-    private String fromEmail;
-
-    @Value("${spring.brevo.sender.name}")
-    private String fromName;
-
-    @Value("${fronted.url}")
-    private String frontedUrl;
-
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final EmailTemplateRenderer templateRenderer;
+    private final EmailDeliveryPipeline deliveryPipeline;
 
-    // Send a plain text email asynchronously.
-    @Async
+    // Send a plain text email (non-blocking, bulk lane).
     public void sendEmail(String to, String subject, String body) {
-        try {
-            Map<String, Object> payload = Map.of(
-                    "sender", Map.of("name", fromName, "email", fromEmail),
-                    "to", List.of(Map.of("email", to)),
-                    "subject", subject,
-                    "textContent", body);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("api-key", apiKey);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(payload, headers);
-            restTemplate.postForEntity(brevoApiUrl, request, String.class);
-
-            log.info("Email sent to {} — Subject: {}", to, subject);
-        } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-        }
+        deliveryPipeline.submitText(EmailPriority.BULK, to, subject, body).whenComplete((ok, e) -> {
+            if (e != null) {
+                log.error("Failed to send email to {}: {}", to, e.getMessage());
+            } else {
+                log.info("Email sent to {} — Subject: {}", to, subject);
+            }
+        });
     }
 
-    // Send a styled HTML email using a template file (async — non-blocking).
-    @Async
+    // Send a styled HTML email using a template file (non-blocking, fire-and-forget).
     public void sendHtmlEmail(String to, String subject, String templateName, Map<String, String> variables) {
         try {
-            String html = loadTemplate(templateName);
-
-            // Replace all {{key}} placeholders
-            for (Map.Entry<String, String> entry : variables.entrySet()) {
-                html = html.replace("{{" + entry.getKey() + "}}", entry.getValue());
-            }
-
-            // Always inject site URL
-            html = html.replace("{{siteUrl}}", frontedUrl);
-
-            Map<String, Object> payload = Map.of(
-                    "sender", Map.of("name", fromName, "email", fromEmail),
-                    "to", List.of(Map.of("email", to)),
-                    "subject", subject,
-                    "htmlContent", html);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("api-key", apiKey);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(payload, headers);
-            restTemplate.postForEntity(brevoApiUrl, request, String.class);
-
-            log.info("HTML email sent to {} — Subject: {} — Template: {}", to, subject, templateName);
+            submitHtmlEmail(to, subject, templateName, variables).whenComplete((ok, e) -> {
+                if (e != null) {
+                    log.error("Failed to send HTML email to {}: {}", to, e.getMessage());
+                }
+            });
         } catch (Exception e) {
             log.error("Failed to send HTML email to {}: {}", to, e.getMessage());
         }
     }
 
-    // Load an HTML template file from classpath: resources/templates/{name}.html
-    private String loadTemplate(String templateName) throws IOException {
-        ClassPathResource resource = new ClassPathResource("templates/" + templateName + ".html");
-        return new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    // Queue an HTML email for batched delivery; the future completes once Brevo accepts it.
+    public CompletableFuture<Void> submitHtmlEmail(String to, String subject, String templateName,
+                                                   Map<String, String> variables) {
+        // Fills {{key}} placeholders (and {{siteUrl}}) in one pass over the precompiled template
+        String html = templateRenderer.render(templateName, variables);
+        return deliveryPipeline.submitHtml(EmailPriority.forTemplate(templateName), to, subject, html)
+                .thenRun(() -> log.info("HTML email sent to {} — Subject: {} — Template: {}",
+                        to, subject, templateName));
+    }
+
+    // Synchronous send that lets failures propagate, for callers that retry (e.g. the outbox dispatcher).
+    public void deliverHtmlEmail(String to, String subject, String templateName, Map<String, String> variables) {
+        try {
+            submitHtmlEmail(to, subject, templateName, variables).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
     }
 }
@@ -0,0 +1,137 @@
+package com.fresherjobs.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the HTML email templates in resources/templates. Each template is
+ * parsed once into alternating literal and {{placeholder}} segments, then
+ * rendered in a single pass into a pre-sized buffer with the variables HTML-escaped.
+ */
+@Slf4j
+@Component
+public class EmailTemplateRenderer {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    @Value("${fronted.url}")
+    private String frontedUrl;
+
+    private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * literals has one more entry than names: literals[0] names[0] literals[1] ... literals[n].
+     */
+    private record CompiledTemplate(String[] literals, String[] names, int literalLength) {
+    }
+
+    // Compile every bundled template at startup so the first send doesn't pay for it
+    @PostConstruct
+    void precompile() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath:templates/*.html");
+            for (Resource resource : resources) {
+                String filename = resource.getFilename();
+                if (filename != null) {
+                    String name = filename.substring(0, filename.length() - ".html".length());
+                    templates.put(name, compile(read(resource)));
+                }
+            }
+            log.info("Compiled {} email templates", templates.size());
+        } catch (IOException e) {
+            log.warn("Could not precompile email templates, they will be compiled on first use: {}", e.getMessage());
+        }
+    }
+
+    public String render(String templateName, Map<String, String> variables) {
+        CompiledTemplate template = templates.computeIfAbsent(templateName,
+                name -> compile(read(new ClassPathResource("templates/" + name + ".html"))));
+
+        String[] values = new String[template.names().length];
+        int capacity = template.literalLength();
+        for (int i = 0; i < values.length; i++) {
+            String name = template.names()[i];
+            String value = variables.get(name);
+            if (value == null && "siteUrl".equals(name)) {
+                value = frontedUrl;
+            }
+            values[i] = value;
+            // Room for a few escaped characters without a regrow
+            capacity += value != null ? value.length() + 16 : name.length() + 4;
+        }
+
+        StringBuilder html = new StringBuilder(capacity);
+        html.append(template.literals()[0]);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                appendEscaped(html, values[i]);
+            } else {
+                // Unknown placeholders are left as-is, as before
+                html.append(OPEN).append(template.names()[i]).append(CLOSE);
+            }
+            html.append(template.literals()[i + 1]);
+        }
+        return html.toString();
+    }
+
+    private static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int literalLength = 0;
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, pos);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                String tail = source.substring(pos);
+                literals.add(tail);
+                literalLength += tail.length();
+                break;
+            }
+            String literal = source.substring(pos, open);
+            literals.add(literal);
+            literalLength += literal.length();
+            names.add(source.substring(open + OPEN.length(), close).trim());
+            pos = close + CLOSE.length();
+        }
+        return new CompiledTemplate(literals.toArray(new String[0]), names.toArray(new String[0]), literalLength);
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static String read(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Email template not found: " + resource.getDescription(), e);
+        }
+    }
+}
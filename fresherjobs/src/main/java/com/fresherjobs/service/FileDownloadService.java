@@ -0,0 +1,148 @@
+package com.fresherjobs.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * Serves a file from local disk with conditional GETs (ETag / Last-Modified) and
+ * single byte ranges. The body bypasses user space where it can: Tomcat's sendfile
+ * when the connector supports it, otherwise {@link FileChannel#transferTo}.
+ */
+@Service
+public class FileDownloadService {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // An attachment is always downloaded by the browser, never rendered in the site's origin
+    public void send(Path file, boolean attachment, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        send(file, null, attributes.size(), attributes.lastModifiedTime().toMillis(), attachment, request, response);
+    }
+
+    // For a file that may be deleted or replaced once the caller lets go of it: the body always
+    // comes from the already open channel, never from the path, so sendfile is not used
+    public void send(FileChannel open, Path file, long lastModified, boolean attachment,
+                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        send(file, open, open.size(), lastModified, attachment, request, response);
+    }
+
+    private void send(Path file, FileChannel open, long length, long lastModified, boolean attachment,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+
+        // Files are overwritten in place under the same URL, so clients revalidate every time
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && length > 0 && ifRangeMatches(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                // A malformed Range header is ignored and the whole file sent
+                ranges = List.of();
+            }
+            // Multipart/byteranges is not supported; several ranges get the whole file
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (attachment) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString());
+        }
+        response.setContentLengthLong(count);
+        if (count == 0) {
+            return;
+        }
+
+        if (open != null) {
+            transfer(open, start, count, response);
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file to the socket itself once this request returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            transfer(channel, start, count, response);
+        }
+    }
+
+    private static void transfer(FileChannel channel, long start, long count, HttpServletResponse response)
+            throws IOException {
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        long remaining = count;
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, out);
+            if (sent <= 0) {
+                break;
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    // A range is only honoured while the client's copy is still current
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long since = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return since != -1 && since / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.fresherjobs.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Checks that a file's leading magic bytes match its extension, so a file renamed
+ * to .pdf or .png cannot be stored (and later served) as something else.
+ */
+final class FileSignatures {
+
+    private static final int HEADER_BYTES = 12;
+
+    private static final byte[] PDF = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    // Legacy .doc is an OLE2 compound file; .docx is a ZIP container
+    private static final byte[] OLE2 = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+            (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] ZIP = {0x50, 0x4B, 0x03, 0x04};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final byte[] RIFF = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    private FileSignatures() {
+    }
+
+    static boolean matches(String extension, Path file) throws IOException {
+        byte[] header;
+        try (InputStream in = Files.newInputStream(file)) {
+            header = in.readNBytes(HEADER_BYTES);
+        }
+        return switch (extension) {
+            case "pdf" -> startsWith(header, PDF, 0);
+            case "doc" -> startsWith(header, OLE2, 0);
+            case "docx" -> startsWith(header, ZIP, 0);
+            case "jpg", "jpeg" -> startsWith(header, JPEG, 0);
+            case "png" -> startsWith(header, PNG, 0);
+            case "webp" -> startsWith(header, RIFF, 0) && startsWith(header, WEBP, 8);
+            default -> false;
+        };
+    }
+
+    private static boolean startsWith(byte[] header, byte[] signature, int offset) {
+        return header.length >= offset + signature.length
+                && Arrays.equals(header, offset, offset + signature.length, signature, 0, signature.length);
+    }
+}
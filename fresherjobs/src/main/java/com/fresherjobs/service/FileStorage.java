@@ -0,0 +1,33 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.enums.FileKind;
+import com.fresherjobs.enums.ImageVariant;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Where uploaded resumes, photos and logos live. The backend is picked with
+ * {@code app.storage.type}: {@code cloudinary} (default) or {@code local}.
+ */
+public interface FileStorage {
+
+    /**
+     * Store a staged upload under the given public_id and return its public URL.
+     * The backend may move {@code source} away; the caller deletes whatever is left.
+     * Storing again with the same publicId replaces the file and keeps the URL.
+     */
+    String store(Path source, String originalFilename, FileKind kind, String publicId);
+
+    void delete(FileKind kind, String publicId);
+
+    // URL of a resized variant of a stored image; backends that cannot resize return the original
+    default String variantUrl(String url, ImageVariant variant) {
+        return url;
+    }
+
+    // The file on local disk behind a /api/files URL; empty for remote backends
+    default Optional<Path> locate(FileKind kind, String filename) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,351 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.dto.response.UploadTicketResponse;
+import com.fresherjobs.entity.StoredFile;
+import com.fresherjobs.entity.UploadTicket;
+import com.fresherjobs.enums.FileKind;
+import com.fresherjobs.enums.UploadStatus;
+import com.fresherjobs.exception.LeaseLostException;
+import com.fresherjobs.exception.ResourceNotFoundException;
+import com.fresherjobs.repository.StoredFileRepository;
+import com.fresherjobs.repository.UploadTicketRepository;
+import com.fresherjobs.service.UploadStaging.StagedUpload;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs uploads either inline or as tickets. In async mode the request thread only
+ * stages the part to disk and records an {@link UploadTicket}; the transfer to
+ * {@link FileStorage} runs on a bounded pool of {@code app.uploads.workers} threads
+ * and the client polls the ticket until it is COMPLETED or FAILED.
+ * <p>
+ * Overflow policy: once {@code app.uploads.queue-capacity} transfers are waiting, new
+ * async uploads are rejected with 503 instead of queueing without bound. A rejected
+ * upload changes nothing, so it never supersedes an earlier one.
+ * <p>
+ * Uploads are content addressed: staging computes a SHA-256 of the bytes, and a
+ * {@link StoredFile} row records the digest of what each publicId currently holds.
+ * Re-uploading identical content returns the stored URL without touching the backend,
+ * so there is no transfer and no CDN invalidation. The check, the transfer and the
+ * digest write for one publicId run under a per-key lease ({@link StorageKeyLeases}),
+ * so concurrent uploads on any nodes are applied one after the other and the digest
+ * always describes the file that is actually stored. The transfer itself holds no
+ * transaction or database connection.
+ * <p>
+ * Only a user's newest upload of each kind is stored: a new upload fails the user's
+ * PENDING tickets of that kind as superseded, and a worker checks under the key's lease that
+ * its ticket is still PENDING before transferring. An older upload therefore can never
+ * finish after, and overwrite, a newer one.
+ */
+@Slf4j
+@Service
+public class FileUploadService {
+
+    private static final String TICKET_LOCK_PREFIX = "upload-ticket:";
+
+    private final FileStorage fileStorage;
+    private final UploadStaging uploadStaging;
+    private final UploadTicketRepository uploadTicketRepository;
+    private final StoredFileRepository storedFileRepository;
+    private final StorageKeyLeases storageKeyLeases;
+    private final ClusterTaskCoordinator clusterTaskCoordinator;
+    private final TransactionTemplate transactionTemplate;
+    // Work done from afterCommit must not join the transaction that just committed
+    private final TransactionTemplate afterCommitTransaction;
+    private final ThreadPoolExecutor executor;
+    // One per running or queued transfer, taken before a ticket is committed, so a committed ticket always fits
+    private final Semaphore slots;
+
+    @Value("${app.storage.type:cloudinary}")
+    private String storageType;
+
+    @Value("${app.uploads.tickets.pending-timeout-seconds:600}")
+    private long pendingTimeoutSeconds;
+
+    @Value("${app.uploads.tickets.retention-hours:24}")
+    private long retentionHours;
+
+    public FileUploadService(FileStorage fileStorage, UploadStaging uploadStaging,
+                             UploadTicketRepository uploadTicketRepository,
+                             StoredFileRepository storedFileRepository, StorageKeyLeases storageKeyLeases,
+                             ClusterTaskCoordinator clusterTaskCoordinator, TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.uploads.workers:8}") int workers,
+                             @Value("${app.uploads.queue-capacity:200}") int queueCapacity) {
+        this.fileStorage = fileStorage;
+        this.uploadStaging = uploadStaging;
+        this.uploadTicketRepository = uploadTicketRepository;
+        this.storedFileRepository = storedFileRepository;
+        this.storageKeyLeases = storageKeyLeases;
+        this.clusterTaskCoordinator = clusterTaskCoordinator;
+        this.transactionTemplate = transactionTemplate;
+        this.afterCommitTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.afterCommitTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.slots = new Semaphore(workers + queueCapacity);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "file-upload-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        meterRegistry.gauge("uploads.queue.depth", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("uploads.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // Blocks the caller for the whole transfer, unless the same content is already stored
+    public String upload(MultipartFile file, FileKind kind, Long userId, String email) {
+        StagedUpload staged = stage(file, kind);
+        String publicId = kind.publicIdFor(email);
+        try {
+            transactionTemplate.executeWithoutResult(status -> supersedePending(userId, kind, publicId));
+            return store(staged, file.getOriginalFilename(), kind, publicId, null);
+        } finally {
+            uploadStaging.discard(staged.path());
+        }
+    }
+
+    public UploadTicketResponse submit(MultipartFile file, FileKind kind, Long userId, String email) {
+        StagedUpload staged = stage(file, kind);
+        String filename = file.getOriginalFilename();
+        String publicId = kind.publicIdFor(email);
+        UploadTicket.UploadTicketBuilder ticket = UploadTicket.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .kind(kind)
+                .filename(filename);
+
+        // Unlocked peek so an unchanged re-upload never queues; the worker checks again under the lock
+        String storedUrl = storedUrl(kind, publicId, staged);
+        AtomicBoolean reserved = new AtomicBoolean();
+        UploadTicket saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                // A superseded upload may be storing right now, so only the worker can tell what ends up stored
+                if (supersedePending(userId, kind, publicId) > 0 || storedUrl == null) {
+                    // Reserved before commit: with no room, rolling back keeps the earlier upload alive
+                    if (!slots.tryAcquire()) {
+                        throw new RejectedExecutionException("Too many uploads in progress, please try again shortly");
+                    }
+                    reserved.set(true);
+                    return uploadTicketRepository.save(ticket.build());
+                }
+                return uploadTicketRepository.save(ticket
+                        .status(UploadStatus.COMPLETED)
+                        .url(storedUrl)
+                        .completedAt(LocalDateTime.now())
+                        .build());
+            });
+        } catch (RuntimeException e) {
+            if (reserved.get()) {
+                slots.release();
+            }
+            uploadStaging.discard(staged.path());
+            throw e;
+        }
+        if (saved.getStatus() == UploadStatus.COMPLETED) {
+            uploadStaging.discard(staged.path());
+            return toResponse(saved);
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    transfer(saved.getId(), staged, filename, kind, publicId);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Only while shutting down: the reserved slot guarantees room in the queue
+            slots.release();
+            uploadStaging.discard(staged.path());
+            uploadTicketRepository.deleteById(saved.getId());
+            throw new RejectedExecutionException("Too many uploads in progress, please try again shortly");
+        }
+        return toResponse(saved);
+    }
+
+    // Deferred until the caller's transaction commits, so a rolled-back account deletion keeps its files
+    public void delete(FileKind kind, String email) {
+        String publicId = kind.publicIdFor(email);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteStored(kind, publicId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    deleteStored(kind, publicId);
+                } catch (RuntimeException e) {
+                    log.error("Failed to delete {} after its owner was deleted: {}", storageKey(kind, publicId),
+                            e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    // Under the key's lease, so no upload can land between the file and its digest row. The file
+    // goes first, outside any transaction, so a failed delete keeps both
+    private void deleteStored(FileKind kind, String publicId) {
+        String key = storageKey(kind, publicId);
+        try (StorageKeyLeases.Lease lease = storageKeyLeases.acquire(key)) {
+            fileStorage.delete(kind, publicId);
+            afterCommitTransaction.executeWithoutResult(status -> {
+                lease.fence();
+                storedFileRepository.deleteById(key);
+            });
+        }
+    }
+
+    public UploadTicketResponse getTicket(String ticketId, Long userId) {
+        return uploadTicketRepository.findByIdAndUserId(ticketId, userId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found"));
+    }
+
+    @Scheduled(cron = "${app.uploads.tickets.prune-cron:0 */10 * * * *}")
+    public void pruneTickets() {
+        clusterTaskCoordinator.runExclusively("upload-ticket-prune", lease -> transactionTemplate.executeWithoutResult(s -> {
+            lease.fence();
+            LocalDateTime now = LocalDateTime.now();
+            int failed = uploadTicketRepository.failPendingBefore(now.minusSeconds(pendingTimeoutSeconds), now);
+            int deleted = uploadTicketRepository.deleteCreatedBefore(now.minusHours(retentionHours));
+            if (failed > 0 || deleted > 0) {
+                log.info("Upload tickets: {} timed out, {} pruned", failed, deleted);
+            }
+        }));
+    }
+
+    private void transfer(String ticketId, StagedUpload staged, String filename, FileKind kind, String publicId) {
+        try {
+            String url = store(staged, filename, kind, publicId, ticketId);
+            if (url == null) {
+                log.debug("Upload {} was superseded before it was stored", ticketId);
+                return;
+            }
+            uploadTicketRepository.complete(ticketId, UploadStatus.COMPLETED, url, null, LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Upload {} failed: {}", ticketId, e.getMessage(), e);
+            uploadTicketRepository.complete(ticketId, UploadStatus.FAILED, null, e.getMessage(), LocalDateTime.now());
+        } finally {
+            uploadStaging.discard(staged.path());
+        }
+    }
+
+    // URL of what is stored under this publicId when it has the same digest and size; null otherwise
+    private String storedUrl(FileKind kind, String publicId, StagedUpload staged) {
+        return storedFileRepository.findById(storageKey(kind, publicId))
+                .filter(f -> f.getStorageType().equals(storageType)
+                        && f.getSha256().equals(staged.sha256())
+                        && f.getSizeBytes() == staged.size())
+                .map(StoredFile::getUrl)
+                .orElse(null);
+    }
+
+    // Under a per-key lock, so of two concurrent submits the later one always fails the earlier.
+    // Not the key's lease, which a transfer holds throughout, so submitting never waits on one
+    private int supersedePending(Long userId, FileKind kind, String publicId) {
+        storedFileRepository.lockKey(TICKET_LOCK_PREFIX + storageKey(kind, publicId));
+        return uploadTicketRepository.supersedePending(userId, kind, LocalDateTime.now());
+    }
+
+    // Under the key's lease, so concurrent uploads to one publicId cannot leave the digest of one
+    // upload next to the file of another. The transfer runs with no transaction or connection held;
+    // only the digest write opens a short one. Returns null, without storing, when the given ticket
+    // is no longer PENDING
+    private String store(StagedUpload staged, String filename, FileKind kind, String publicId, String ticketId) {
+        String key = storageKey(kind, publicId);
+        try (StorageKeyLeases.Lease lease = storageKeyLeases.acquire(key)) {
+            // A newer upload superseded after this check is stored after this one, as it waits for the lease
+            if (ticketId != null && !uploadTicketRepository.existsByIdAndStatus(ticketId, UploadStatus.PENDING)) {
+                return null;
+            }
+            String storedUrl = storedUrl(kind, publicId, staged);
+            if (storedUrl != null) {
+                return storedUrl;
+            }
+            String url = fileStorage.store(staged.path(), filename, kind, publicId);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    lease.fence();
+                    storedFileRepository.upsert(key, storageType, staged.sha256(), staged.size(), url,
+                            LocalDateTime.now());
+                });
+            } catch (LeaseLostException e) {
+                // The backend may now hold this file under an older digest; without one the next upload stores again
+                storedFileRepository.deleteById(key);
+                throw e;
+            }
+            return url;
+        }
+    }
+
+    private static String storageKey(FileKind kind, String publicId) {
+        return kind.getFolder() + "/" + publicId;
+    }
+
+    // Only whitelisted extensions whose content starts with the matching magic bytes get past staging
+    private StagedUpload stage(MultipartFile file, FileKind kind) {
+        String extension = kind.extensionOf(file.getOriginalFilename())
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported file type for " + kind.getFolder()));
+        StagedUpload staged;
+        try {
+            staged = uploadStaging.stage(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read upload: " + e.getMessage(), e);
+        }
+        boolean matches;
+        try {
+            matches = FileSignatures.matches(extension, staged.path());
+        } catch (IOException e) {
+            uploadStaging.discard(staged.path());
+            throw new RuntimeException("Failed to read upload: " + e.getMessage(), e);
+        }
+        if (!matches) {
+            uploadStaging.discard(staged.path());
+            throw new IllegalArgumentException("File content does not match its ." + extension + " extension");
+        }
+        return staged;
+    }
+
+    private UploadTicketResponse toResponse(UploadTicket ticket) {
+        return UploadTicketResponse.builder()
+                .ticketId(ticket.getId())
+                .kind(ticket.getKind())
+                .status(ticket.getStatus())
+                .url(ticket.getUrl())
+                .filename(ticket.getFilename())
+                .error(ticket.getError())
+                .createdAt(ticket.getCreatedAt())
+                .completedAt(ticket.getCompletedAt())
+                .build();
+    }
+}
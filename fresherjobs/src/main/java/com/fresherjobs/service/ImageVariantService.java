@@ -0,0 +1,320 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.enums.ImageVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Square thumbnails of locally stored images, rendered with ImageIO on first request
+ * and kept on disk under {@code app.images.variants.cache-dir}. An in-memory LRU
+ * index tracks the rendered files and deletes the least recently served ones once
+ * they add up to more than {@code app.images.variants.max-cache-bytes}. An entry
+ * remembers the size and mtime of its source, so a re-upload renders a fresh variant.
+ * The index is rebuilt from the cache directory at startup, so variants rendered by
+ * a previous run are reused and still count against the budget.
+ * <p>
+ * A variant is handed out as a channel opened while the index lock is held. Eviction
+ * and re-rendering delete files under the same lock, so a file can only go away
+ * after it was opened, and an open file stays readable until it is closed.
+ * <p>
+ * Large sources are decoded with subsampling, so decoding never needs much more
+ * than twice the variant's resolution, and at most {@code max-concurrent-renders}
+ * images are decoded at once.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private static final long UNKNOWN_SIZE = -1;
+
+    private record Entry(Path path, long sourceModified, long sourceSize, long bytes) {
+
+        // Found on disk at startup: only the variant's own mtime is known, so it is current
+        // if it was rendered after the source last changed
+        static Entry recovered(Path path, long renderedAt, long bytes) {
+            return new Entry(path, renderedAt, UNKNOWN_SIZE, bytes);
+        }
+
+        boolean isCurrentFor(long modified, long size) {
+            return sourceSize == UNKNOWN_SIZE ? sourceModified >= modified
+                    : sourceModified == modified && sourceSize == size;
+        }
+    }
+
+    /**
+     * A rendered variant held open for serving. Its file may be evicted or replaced on
+     * disk at any time after this is returned; reads through {@link #channel()} still
+     * see the complete file. The caller closes it once the response is written.
+     */
+    public record OpenVariant(Path path, FileChannel channel, long lastModified) implements Closeable {
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private final Path cacheDir;
+    private final long maxCacheBytes;
+    private final long maxSourcePixels;
+    private final Semaphore renders;
+
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    public ImageVariantService(@Value("${app.images.variants.cache-dir:./uploads/.variants}") String cacheDir,
+                               @Value("${app.images.variants.max-cache-bytes:268435456}") long maxCacheBytes,
+                               @Value("${app.images.variants.max-source-pixels:40000000}") long maxSourcePixels,
+                               @Value("${app.images.variants.max-concurrent-renders:4}") int maxConcurrentRenders) {
+        this.cacheDir = Path.of(cacheDir).toAbsolutePath().normalize();
+        this.maxCacheBytes = maxCacheBytes;
+        this.maxSourcePixels = maxSourcePixels;
+        this.renders = new Semaphore(maxConcurrentRenders);
+        rebuildIndex();
+    }
+
+    // The rendered variant, opened for reading; rendered first if it is missing or stale
+    public OpenVariant open(Path source, ImageVariant variant) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        long modified = attributes.lastModifiedTime().toMillis();
+        String key = variant.getParam() + "/" + source.getFileName();
+
+        synchronized (index) {
+            Entry cached = index.get(key);
+            if (cached != null && cached.isCurrentFor(modified, attributes.size())) {
+                OpenVariant open = openLocked(cached);
+                if (open != null) {
+                    return open;
+                }
+            }
+        }
+
+        while (true) {
+            // Two requests racing on a missing variant both render it; the atomic move makes that harmless
+            Entry rendered = render(source, variant, modified, attributes.size());
+            synchronized (index) {
+                Entry previous = index.put(key, rendered);
+                cachedBytes += rendered.bytes();
+                if (previous != null) {
+                    cachedBytes -= previous.bytes();
+                    if (!previous.path().equals(rendered.path())) {
+                        delete(previous.path());
+                    }
+                }
+                // Opened before eviction can run, which never takes the entry just added anyway
+                OpenVariant open = openLocked(rendered);
+                evict();
+                if (open != null) {
+                    return open;
+                }
+                // A racing render of the same key was evicted after it replaced ours; render again
+                index.remove(key, rendered);
+                cachedBytes -= rendered.bytes();
+            }
+        }
+    }
+
+    // Null when the file is gone, e.g. deleted by hand; the caller renders it again
+    private OpenVariant openLocked(Entry entry) throws IOException {
+        try {
+            FileChannel channel = FileChannel.open(entry.path(), StandardOpenOption.READ);
+            return new OpenVariant(entry.path(), channel,
+                    Files.getLastModifiedTime(entry.path()).toMillis());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    // Variant files are named after their source plus .jpg or .png, in one directory per variant
+    private void rebuildIndex() {
+        List<Map.Entry<String, Entry>> found = new ArrayList<>();
+        for (ImageVariant variant : ImageVariant.values()) {
+            Path dir = cacheDir.resolve(variant.getParam());
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            Map<String, Entry> newest = new HashMap<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    int dot = name.lastIndexOf('.');
+                    if (name.startsWith("render-") || dot <= 0) {
+                        // Left by a render that was cut short
+                        delete(file);
+                        continue;
+                    }
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    Entry entry = Entry.recovered(file, attributes.lastModifiedTime().toMillis(), attributes.size());
+                    // A source that gained or lost transparency leaves both a .jpg and a .png; the newer one wins
+                    String source = name.substring(0, dot);
+                    Entry other = newest.get(source);
+                    if (other == null || other.sourceModified() <= entry.sourceModified()) {
+                        newest.put(source, entry);
+                        if (other != null) {
+                            delete(other.path());
+                        }
+                    } else {
+                        delete(file);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Failed to read image variant cache {}: {}", dir, e.getMessage());
+            }
+            newest.forEach((source, entry) -> found.add(Map.entry(variant.getParam() + "/" + source, entry)));
+        }
+
+        // Oldest renders first, as the nearest thing to least recently served
+        found.sort(Comparator.comparingLong(e -> e.getValue().sourceModified()));
+        synchronized (index) {
+            for (Map.Entry<String, Entry> e : found) {
+                index.put(e.getKey(), e.getValue());
+                cachedBytes += e.getValue().bytes();
+            }
+            evict();
+        }
+        if (!found.isEmpty()) {
+            log.info("Image variant cache holds {} variants, {} bytes", index.size(), cachedBytes);
+        }
+    }
+
+    // Oldest first, never the entry just added
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> it = index.entrySet().iterator();
+        while (cachedBytes > maxCacheBytes && index.size() > 1 && it.hasNext()) {
+            Entry eldest = it.next().getValue();
+            it.remove();
+            cachedBytes -= eldest.bytes();
+            delete(eldest.path());
+        }
+    }
+
+    private Entry render(Path source, ImageVariant variant, long sourceModified, long sourceSize) throws IOException {
+        try {
+            renders.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to render an image", e);
+        }
+        try {
+            BufferedImage thumbnail = thumbnail(decode(source, variant.getSize()), variant.getSize());
+            boolean alpha = thumbnail.getColorModel().hasAlpha();
+
+            Path dir = Files.createDirectories(cacheDir.resolve(variant.getParam()));
+            Path target = dir.resolve(source.getFileName() + (alpha ? ".png" : ".jpg"));
+            Path temp = Files.createTempFile(dir, "render-", ".part");
+            try {
+                write(thumbnail, alpha, temp);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return new Entry(target, sourceModified, sourceSize, Files.size(target));
+        } finally {
+            renders.release();
+        }
+    }
+
+    private BufferedImage decode(Path source, int size) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("File is not a supported image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                // Checked from the header, before any pixels are decoded
+                if ((long) width * height > maxSourcePixels) {
+                    throw new IllegalArgumentException("Image is too large to resize");
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.min(width, height) / (size * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Center crop to a square, scaled down to the variant size (never up)
+    private static BufferedImage thumbnail(BufferedImage image, int size) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        int x = (image.getWidth() - side) / 2;
+        int y = (image.getHeight() - side) / 2;
+        int target = Math.min(size, side);
+
+        boolean alpha = image.getColorModel().hasAlpha();
+        BufferedImage thumbnail = new BufferedImage(target, target,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = thumbnail.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, target, target, x, y, x + side, y + side, null);
+        } finally {
+            g.dispose();
+        }
+        return thumbnail;
+    }
+
+    private static void write(BufferedImage image, boolean alpha, Path target) throws IOException {
+        if (alpha) {
+            ImageIO.write(image, "png", target.toFile());
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete image variant {}: {}", file, e.getMessage());
+        }
+    }
+}
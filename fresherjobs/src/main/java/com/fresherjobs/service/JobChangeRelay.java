@@ -0,0 +1,206 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.event.JobChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Carries {@link JobChangedEvent}s between replicas over PostgreSQL LISTEN/NOTIFY, so the
+ * in-memory read models (snapshot cache, search index, recommender catalog, schedule
+ * engine) of every node follow changes committed on any node.
+ * <p>
+ * A change is sent with {@code pg_notify} inside the transaction that made it, so it is
+ * delivered only if that transaction commits. Each node listens on its own connection,
+ * outside the pool, re-reads upserted jobs from the DB and republishes the change locally
+ * as a remote event. Notifications sent while a node was not listening are lost, so after
+ * every reconnect the node rebuilds its read models from the DB.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.jobs.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class JobChangeRelay {
+
+    private static final String CHANNEL = "job_changes";
+    // NOTIFY payloads are capped at 8000 bytes; this many ids always fit
+    private static final int IDS_PER_NOTIFICATION = 400;
+    private static final long STARTUP_WAIT_SECONDS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final JobService jobService;
+    private final JobSnapshotCache jobSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+
+    private final CountDownLatch listening = new CountDownLatch(1);
+    private volatile boolean running;
+    private volatile Thread listener;
+
+    public JobChangeRelay(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                          JobService jobService, JobSnapshotCache jobSnapshotCache,
+                          ApplicationEventPublisher eventPublisher, ClusterTaskCoordinator clusterTaskCoordinator,
+                          @Value("${app.jobs.relay.poll-timeout-ms:10000}") int pollTimeoutMs,
+                          @Value("${app.jobs.relay.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.jobService = jobService;
+        this.jobSnapshotCache = jobSnapshotCache;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = clusterTaskCoordinator.getNodeId();
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    // Listening before JobService builds the read models, so no change falls between the two
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() throws InterruptedException {
+        running = true;
+        listener = new Thread(this::listen, "job-change-relay");
+        listener.setDaemon(true);
+        listener.start();
+        if (!listening.await(STARTUP_WAIT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Job change relay is not connected yet; read models will be rebuilt once it is");
+            // Tells the late first connect that the startup build did not wait for it
+            listening.countDown();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    // Runs in the writing transaction, so other nodes hear of the change only once it commits
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        List<Long> ids = event.getJobIds();
+        for (int from = 0; from < ids.size(); from += IDS_PER_NOTIFICATION) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + IDS_PER_NOTIFICATION));
+            String payload = nodeId + "|" + event.getType() + "|"
+                    + chunk.stream().map(String::valueOf).collect(Collectors.joining(","));
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+        }
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for job changes from other nodes");
+                // On a timely first connect the read models are built right after this; any other follows a gap
+                if (connectedBefore || listening.getCount() == 0) {
+                    resync();
+                }
+                connectedBefore = true;
+                listening.countDown();
+
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    // Blocks until a notification arrives or the timeout passes; throws once the connection breaks
+                    PGNotification[] notifications = pg.getNotifications(pollTimeoutMs);
+                    if (notifications != null && notifications.length > 0) {
+                        apply(notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Job change relay connection lost, reconnecting in {}ms: {}", reconnectDelayMs, e.getMessage());
+                    sleep(reconnectDelayMs);
+                }
+            }
+        }
+    }
+
+    private void apply(PGNotification[] notifications) {
+        Set<Long> upserted = new HashSet<>();
+        for (PGNotification notification : notifications) {
+            String[] parts = notification.getParameter().split("\\|", 3);
+            if (parts.length < 3 || parts[0].equals(nodeId) || parts[2].isEmpty()) {
+                continue;
+            }
+            JobChangedEvent.ChangeType type;
+            List<Long> ids = new ArrayList<>();
+            try {
+                type = JobChangedEvent.ChangeType.valueOf(parts[1]);
+                for (String id : parts[2].split(",")) {
+                    ids.add(Long.valueOf(id));
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed job change notification: {}", notification.getParameter());
+                continue;
+            }
+            if (type == JobChangedEvent.ChangeType.UPSERTED) {
+                upserted.addAll(ids);
+            } else {
+                upserted.removeAll(ids);
+                eventPublisher.publishEvent(JobChangedEvent.remote(type, ids));
+            }
+        }
+        if (upserted.isEmpty()) {
+            return;
+        }
+
+        // The payload only names the jobs; their current state is read back once per batch of notifications
+        for (JobChangedEvent change : jobService.getRemoteUpserts(upserted)) {
+            upserted.remove(change.getJob().getId());
+            eventPublisher.publishEvent(change);
+        }
+        if (!upserted.isEmpty()) {
+            // Deleted again before we read them back
+            eventPublisher.publishEvent(JobChangedEvent.remote(JobChangedEvent.ChangeType.REMOVED, List.copyOf(upserted)));
+        }
+    }
+
+    // Anything could have changed while nobody was listening
+    private void resync() {
+        jobService.buildReadModels();
+        jobSnapshotCache.invalidateAll();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.dto.response.JobResponse;
+import com.fresherjobs.dto.response.RecommendedJobResponse;
+import com.fresherjobs.entity.FresherProfile;
+import com.fresherjobs.entity.Job;
+import com.fresherjobs.event.JobChangedEvent;
+import com.fresherjobs.event.ProfileChangedEvent;
+import com.fresherjobs.exception.ResourceNotFoundException;
+import com.fresherjobs.repository.FresherProfileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Ranks active jobs for a seeker's profile. Every job in an in-memory catalog is
+ * scored on skill coverage (bitset popcount via {@link SkillDictionary}), location
+ * preference and recency; jobs for a different graduation year are not eligible.
+ * The best K are kept in a bounded min-heap, and large catalogs are scored in
+ * parallel with one heap per worker, merged at the end.
+ *
+ * Results are cached per user. An entry is served only while the catalog is
+ * unchanged, and is dropped when the user's profile is written.
+ */
+@Slf4j
+@Service
+public class JobRecommender {
+
+    private static final double SKILL_WEIGHT = 0.55;
+    private static final double RECENCY_WEIGHT = 0.2;
+    private static final double LOCATION_WEIGHT = 0.15;
+    private static final double GRADUATION_YEAR_WEIGHT = 0.1;
+    private static final double RECENCY_HALF_LIFE_DAYS = 14;
+    private static final Comparator<Scored> BY_SCORE = Comparator.comparingDouble(Scored::score)
+            .thenComparing(s -> s.candidate().job().getId());
+
+    private record Candidate(JobResponse job, long[] skills, int skillCount, String location) {
+    }
+
+    private record Scored(Candidate candidate, double score, int matchedSkills) {
+    }
+
+    private record CachedResult(long catalogVersion, String location, int limit, List<RecommendedJobResponse> jobs) {
+    }
+
+    private final FresherProfileRepository profileRepository;
+    private final SkillDictionary skillDictionary;
+    private final int parallelThreshold;
+
+    private final Map<Long, Candidate> catalog = new ConcurrentHashMap<>();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    // Bumped on every profile change, so a result computed across one is not cached
+    private final AtomicLong profileGeneration = new AtomicLong();
+    private final Map<Long, CachedResult> cache;
+
+    public JobRecommender(FresherProfileRepository profileRepository, SkillDictionary skillDictionary,
+                          @Value("${app.recommendations.parallel-threshold:5000}") int parallelThreshold,
+                          @Value("${app.recommendations.cache-size:10000}") int cacheSize) {
+        this.profileRepository = profileRepository;
+        this.skillDictionary = skillDictionary;
+        this.parallelThreshold = parallelThreshold;
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedResult> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public List<RecommendedJobResponse> recommend(Long userId, String location, int limit) {
+        String preferred = normalizeLocation(location);
+        long version = catalogVersion.get();
+        synchronized (cache) {
+            CachedResult cached = cache.get(userId);
+            if (cached != null && cached.catalogVersion() == version && cached.limit() == limit
+                    && Objects.equals(cached.location(), preferred)) {
+                return cached.jobs();
+            }
+        }
+
+        long generation = profileGeneration.get();
+        FresherProfile profile = profileRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile not found. Please create your profile first."));
+        List<RecommendedJobResponse> jobs = rank(profile, preferred, limit);
+
+        if (generation == profileGeneration.get() && version == catalogVersion.get()) {
+            synchronized (cache) {
+                cache.put(userId, new CachedResult(version, preferred, limit, jobs));
+            }
+        }
+        return jobs;
+    }
+
+    // Seeded by JobService at startup from the active jobs
+    public void rebuild(List<Job> activeJobs, Function<Job, JobResponse> toResponse) {
+        catalog.clear();
+        for (Job job : activeJobs) {
+            long[] skills = job.getSkillBits() != null
+                    ? SkillDictionary.words(job.getSkillBits())
+                    : SkillDictionary.words(skillDictionary.encode(job.getSkillsRequired()));
+            catalog.put(job.getId(), new Candidate(toResponse.apply(job), skills, SkillDictionary.count(skills),
+                    normalizeLocation(job.getLocation())));
+        }
+        catalogVersion.incrementAndGet();
+        log.info("Recommendation catalog built with {} jobs", catalog.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.getType() == JobChangedEvent.ChangeType.UPSERTED && Boolean.TRUE.equals(event.getJob().getIsActive())) {
+            JobResponse job = event.getJob();
+            // Encoded when the job was written; only rows from before the dictionary have none
+            long[] skills = event.getSkillBits() != null
+                    ? SkillDictionary.words(event.getSkillBits())
+                    : SkillDictionary.words(skillDictionary.encode(job.getSkillsRequired()));
+            catalog.put(job.getId(), new Candidate(job, skills, SkillDictionary.count(skills),
+                    normalizeLocation(job.getLocation())));
+        } else {
+            event.getJobIds().forEach(catalog::remove);
+        }
+        catalogVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        profileGeneration.incrementAndGet();
+        synchronized (cache) {
+            cache.remove(event.getUserId());
+        }
+    }
+
+    private List<RecommendedJobResponse> rank(FresherProfile profile, String location, int limit) {
+        long[] skills = SkillDictionary.words(profile.getSkillBits());
+        Integer graduationYear = profile.getGraduationYear();
+        LocalDateTime now = LocalDateTime.now();
+
+        TopK top = catalog.size() >= parallelThreshold
+                ? catalog.values().parallelStream().collect(
+                        () -> new TopK(limit),
+                        (heap, c) -> heap.offer(score(c, skills, graduationYear, location, now)),
+                        TopK::merge)
+                : catalog.values().stream().collect(
+                        () -> new TopK(limit),
+                        (heap, c) -> heap.offer(score(c, skills, graduationYear, location, now)),
+                        TopK::merge);
+
+        return top.sortedDescending().stream()
+                .map(s -> RecommendedJobResponse.builder()
+                        .job(s.candidate().job())
+                        .score(Math.round(s.score() * 1000) / 1000.0)
+                        .matchedSkills(s.matchedSkills())
+                        .build())
+                .toList();
+    }
+
+    // Null when the job is not open to this graduation year
+    private static Scored score(Candidate c, long[] skills, Integer graduationYear, String location,
+                                LocalDateTime now) {
+        Integer jobYear = c.job().getGraduationYear();
+        if (jobYear != null && graduationYear != null && !jobYear.equals(graduationYear)) {
+            return null;
+        }
+
+        int matched = SkillDictionary.overlap(skills, c.skills());
+        // Jobs that list no skills get a neutral skill score instead of zero
+        double skillScore = c.skillCount() == 0 ? 0.5 : (double) matched / c.skillCount();
+
+        double locationScore;
+        if (location == null || c.location() == null) {
+            locationScore = 0.5;
+        } else {
+            locationScore = c.location().contains(location) || c.location().contains("remote") ? 1 : 0;
+        }
+
+        double ageDays = c.job().getPostedAt() == null ? 0
+                : Math.max(0, Duration.between(c.job().getPostedAt(), now).toHours() / 24.0);
+        double recencyScore = Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+
+        double yearScore = jobYear != null && jobYear.equals(graduationYear) ? 1 : 0;
+
+        double score = SKILL_WEIGHT * skillScore
+                + LOCATION_WEIGHT * locationScore
+                + RECENCY_WEIGHT * recencyScore
+                + GRADUATION_YEAR_WEIGHT * yearScore;
+        return new Scored(c, score, matched);
+    }
+
+    private static String normalizeLocation(String location) {
+        return location == null || location.isBlank() ? null : location.trim().toLowerCase();
+    }
+
+    // Min-heap of the K best scores seen so far; the root is the one to beat
+    private static final class TopK {
+
+        private final int capacity;
+        private final PriorityQueue<Scored> heap;
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+            this.heap = new PriorityQueue<>(capacity + 1, BY_SCORE);
+        }
+
+        void offer(Scored scored) {
+            if (scored == null) {
+                return;
+            }
+            if (heap.size() < capacity) {
+                heap.add(scored);
+            } else if (BY_SCORE.compare(scored, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+
+        void merge(TopK other) {
+            other.heap.forEach(this::offer);
+        }
+
+        List<Scored> sortedDescending() {
+            List<Scored> sorted = new ArrayList<>(heap);
+            sorted.sort(BY_SCORE.reversed());
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.dto.response.JobResponse;
+import com.fresherjobs.event.JobChangedEvent;
+import com.fresherjobs.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publishes and expires jobs at their scheduled instant. Upcoming transitions sit in
+ * a {@link DelayQueue} seeded from the DB at startup and kept current from
+ * {@link JobChangedEvent}s, so createJob/updateJob reschedule a job after they commit.
+ * A single worker thread wakes when the earliest entry is due and applies everything
+ * due in batches of {@code app.jobs.schedule.batch-size}. A job is live through its
+ * {@code expiresAt} date and expires at the following midnight.
+ *
+ * Every replica hears of every change through {@link JobChangeRelay}, so all of them
+ * queue the same transitions and wake together. {@link JobService} claims each row
+ * with a conditional UPDATE, so exactly one replica applies a transition and announces
+ * it; the relay carries that to the others, whose attempt found nothing to do. A
+ * periodic sweep, run on one replica at a time through {@link ClusterTaskCoordinator},
+ * catches transitions missed while the relay or a node was down.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobScheduleEngine {
+
+    enum Action {
+        PUBLISH,
+        EXPIRE
+    }
+
+    private record Key(Long jobId, Action action) {
+    }
+
+    private record Entry(Key key, long dueAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((Entry) other).dueAtMillis);
+        }
+    }
+
+    private final JobRepository jobRepository;
+    private final JobService jobService;
+    private final ClusterTaskCoordinator clusterTaskCoordinator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.jobs.schedule.batch-size:100}")
+    private int batchSize;
+
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    // Current entry per job and action; superseded entries stay queued and are skipped when they come due
+    private final Map<Key, Entry> current = new ConcurrentHashMap<>();
+    private volatile Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (JobRepository.ScheduledJob job : jobRepository.findScheduled()) {
+            if (job.getPublishAt() != null) {
+                schedule(job.getId(), Action.PUBLISH, job.getPublishAt());
+            } else {
+                schedule(job.getId(), Action.EXPIRE, expiryInstant(job.getExpiresAt()));
+            }
+        }
+        log.info("Job schedule engine started with {} pending transitions", current.size());
+
+        worker = new Thread(this::run, "job-schedule");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.getType() != JobChangedEvent.ChangeType.UPSERTED) {
+            event.getJobIds().forEach(this::cancelAll);
+            return;
+        }
+        JobResponse job = event.getJob();
+        if (Boolean.TRUE.equals(job.getIsActive())) {
+            cancel(job.getId(), Action.PUBLISH);
+            if (job.getExpiresAt() != null) {
+                schedule(job.getId(), Action.EXPIRE, expiryInstant(job.getExpiresAt()));
+            } else {
+                cancel(job.getId(), Action.EXPIRE);
+            }
+        } else if (job.getPublishAt() != null) {
+            // Expiry is scheduled once the job goes live
+            cancel(job.getId(), Action.EXPIRE);
+            schedule(job.getId(), Action.PUBLISH, job.getPublishAt());
+        } else {
+            cancelAll(job.getId());
+        }
+    }
+
+    // Safety net for transitions no node applied in time; one replica runs it per trigger
+    @Scheduled(cron = "${app.jobs.schedule.sweep-cron:0 */15 * * * *}")
+    public void sweep() {
+        clusterTaskCoordinator.runExclusively("job-schedule-sweep", lease -> {
+            List<Long> ids;
+            int expired = 0;
+            while (!(ids = jobRepository.findExpiredActiveJobIds(LocalDate.now(), PageRequest.of(0, batchSize))).isEmpty()) {
+                List<Long> batch = ids;
+                expired += fenced(lease, () -> jobService.expireJobs(batch)).size();
+            }
+            int published = 0;
+            while (!(ids = jobRepository.findDuePublicationIds(LocalDateTime.now(), PageRequest.of(0, batchSize))).isEmpty()) {
+                List<Long> batch = ids;
+                published += fenced(lease, () -> jobService.publishScheduledJobs(batch)).size();
+            }
+            if (expired > 0 || published > 0) {
+                log.info("Job schedule sweep expired {} and published {} jobs", expired, published);
+            }
+        });
+    }
+
+    // JobService joins this transaction, so its writes commit only while the lease is held
+    private List<Long> fenced(ClusterTaskCoordinator.Lease lease, Supplier<List<Long>> write) {
+        return transactionTemplate.execute(status -> {
+            lease.fence();
+            return write.get();
+        });
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Entry> due = new ArrayList<>();
+                due.add(queue.take());
+                queue.drainTo(due, batchSize - 1);
+                apply(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Left for the sweep to pick up
+                log.error("Job schedule batch failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void apply(List<Entry> due) {
+        List<Long> toPublish = new ArrayList<>();
+        List<Long> toExpire = new ArrayList<>();
+        for (Entry entry : due) {
+            if (!current.remove(entry.key(), entry)) {
+                continue;
+            }
+            (entry.key().action() == Action.PUBLISH ? toPublish : toExpire).add(entry.key().jobId());
+        }
+        if (!toPublish.isEmpty()) {
+            jobService.publishScheduledJobs(toPublish);
+        }
+        if (!toExpire.isEmpty()) {
+            jobService.expireJobs(toExpire);
+        }
+    }
+
+    private void schedule(Long jobId, Action action, LocalDateTime at) {
+        Entry entry = new Entry(new Key(jobId, action), at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        Entry previous = current.put(entry.key(), entry);
+        if (!entry.equals(previous)) {
+            queue.add(entry);
+        }
+    }
+
+    private void cancel(Long jobId, Action action) {
+        current.remove(new Key(jobId, action));
+    }
+
+    private void cancelAll(Long jobId) {
+        cancel(jobId, Action.PUBLISH);
+        cancel(jobId, Action.EXPIRE);
+    }
+
+    // Live through the whole expiresAt date, matching the "expires_at < today" check in the DB
+    private static LocalDateTime expiryInstant(LocalDate expiresAt) {
+        return expiresAt.plusDays(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,212 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.dto.response.JobResponse;
+import com.fresherjobs.event.JobChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over active jobs, ranked with BM25.
+ * Title, skills, company name and description are indexed with per-field
+ * weights applied to term frequency. Search results are served from the
+ * index's own copy of each {@link JobResponse}, so a query never touches the DB.
+ */
+@Slf4j
+@Component
+public class JobSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float SKILLS_WEIGHT = 2.5f;
+    private static final float COMPANY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final Pattern SPLITTER = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "our", "the", "to", "we", "will", "with", "you", "your");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (jobId -> weighted term frequency)
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, IndexedJob> documents = new HashMap<>();
+    private double totalLength;
+
+    private record IndexedJob(JobResponse job, Map<String, Float> terms, float length) {
+    }
+
+    public void rebuild(Collection<JobResponse> jobs) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            for (JobResponse job : jobs) {
+                addLocked(job);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job search index built with {} active jobs", jobs.size());
+    }
+
+    public void index(JobResponse job) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(job.getId());
+            addLocked(job);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> jobIds) {
+        lock.writeLock().lock();
+        try {
+            jobIds.forEach(this::removeLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<JobResponse> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) {
+                return List.of();
+            }
+            double avgLength = totalLength / docCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                Map<Long, Float> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<Long, Float> entry : posting.entrySet()) {
+                    float tf = entry.getValue();
+                    float length = documents.get(entry.getKey()).length();
+                    double norm = tf + K1 * (1 - B + B * length / avgLength);
+                    scores.merge(entry.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+                }
+            }
+
+            // Bounded min-heap keeps only the best `limit` hits
+            PriorityQueue<Map.Entry<Long, Double>> top =
+                    new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()));
+            List<JobResponse> results = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Double> entry : ranked) {
+                results.add(documents.get(entry.getKey()).job());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        if (event.getType() == JobChangedEvent.ChangeType.UPSERTED) {
+            index(event.getJob());
+        } else {
+            remove(event.getJobIds());
+        }
+    }
+
+    private void addLocked(JobResponse job) {
+        if (job.getId() == null || !Boolean.TRUE.equals(job.getIsActive())) {
+            return;
+        }
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, job.getTitle(), TITLE_WEIGHT);
+        addField(terms, job.getSkillsRequired(), SKILLS_WEIGHT);
+        addField(terms, job.getCompanyName(), COMPANY_WEIGHT);
+        addField(terms, job.getDescription(), DESCRIPTION_WEIGHT);
+
+        float length = 0;
+        for (Map.Entry<String, Float> entry : terms.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(job.getId(), entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(job.getId(), new IndexedJob(job, terms, length));
+        totalLength += length;
+    }
+
+    private void removeLocked(Long jobId) {
+        IndexedJob existing = documents.remove(jobId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms().keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(jobId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= existing.length();
+    }
+
+    private static void addField(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SPLITTER.split(text.toLowerCase())) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,26 +1,36 @@
 package com.fresherjobs.service;
 
+import com.fresherjobs.dto.request.JobFilterRequest;
 import com.fresherjobs.dto.request.JobRequest;
+import com.fresherjobs.dto.response.JobPageResponse;
 import com.fresherjobs.dto.response.JobResponse;
+import com.fresherjobs.dto.response.RecommendedJobResponse;
 import com.fresherjobs.entity.Company;
 import com.fresherjobs.entity.Job;
 import com.fresherjobs.entity.JobCategory;
-import com.fresherjobs.entity.User;
+import com.fresherjobs.event.JobChangedEvent;
 import com.fresherjobs.exception.FresherJobViolationException;
 import com.fresherjobs.exception.ResourceNotFoundException;
 import com.fresherjobs.repository.ApplicationRepository;
 import com.fresherjobs.repository.CompanyRepository;
 import com.fresherjobs.repository.JobCategoryRepository;
+import com.fresherjobs.repository.JobCursor;
 import com.fresherjobs.repository.JobRepository;
+import com.fresherjobs.repository.JobSpecifications;
 import com.fresherjobs.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,18 +39,25 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JobService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
     private final JobRepository jobRepository;
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
     private final JobCategoryRepository jobCategoryRepository;
     private final ApplicationRepository applicationRepository;
+    private final JobSearchIndex jobSearchIndex;
+    private final SkillDictionary skillDictionary;
+    private final JobRecommender jobRecommender;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
-    public JobResponse createJob(JobRequest request, String recruiterEmail) {
-        User recruiter = userRepository.findByEmail(recruiterEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Recruiter not found"));
-
-        if (!recruiter.getIsApproved()) {
+    public JobResponse createJob(JobRequest request, Long recruiterId, boolean approved) {
+        // The approval flag comes from the token; re-check the DB only when it says "pending",
+        // since a recruiter approved after logging in still carries the old claim
+        if (!approved && !userRepository.existsByIdAndIsApprovedTrue(recruiterId)) {
             throw new AccessDeniedException("Your account is pending admin approval. You cannot post jobs yet.");
         }
 
@@ -48,7 +65,7 @@ public class JobService {
             throw new FresherJobViolationException("Only fresher jobs (0-1 year experience) are allowed!");
         }
 
-        Company company = companyRepository.findByUserId(recruiter.getId())
+        Company company = companyRepository.findByUserId(recruiterId)
                 .orElseThrow(() -> new ResourceNotFoundException("Company profile not found for recruiter"));
 
         JobCategory category = null;
@@ -63,6 +80,7 @@ public class JobService {
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .skillsRequired(request.getSkillsRequired())
+                .skillBits(skillDictionary.encode(request.getSkillsRequired()))
                 .jobType(request.getJobType())
                 .experienceRequired(request.getExperienceRequired())
                 .graduationYear(request.getGraduationYear())
@@ -72,8 +90,16 @@ public class JobService {
                 .expiresAt(request.getExpiresAt())
                 .build();
 
+        // A future publication time keeps the job hidden until JobScheduleEngine publishes it
+        if (request.getPublishAt() != null && request.getPublishAt().isAfter(LocalDateTime.now())) {
+            job.setIsActive(false);
+            job.setPublishAt(request.getPublishAt());
+        }
+
         job = jobRepository.save(job);
-        return mapToResponse(job);
+        JobResponse response = mapToResponse(job);
+        eventPublisher.publishEvent(JobChangedEvent.upserted(response, job.getSkillBits()));
+        return response;
     }
 
     public List<JobResponse> getAllActiveJobs() {
@@ -82,21 +108,51 @@ public class JobService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset-paginated listing of active jobs, newest first. The cursor encodes the
+     * (postedAt, id) of the last row served, so every page is an index range scan
+     * regardless of how deep the client has paged.
+     */
+    public JobPageResponse getActiveJobsPage(JobFilterRequest filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        JobCursor after = cursor == null || cursor.isBlank() ? null : JobCursor.decode(cursor);
+
+        Specification<Job> spec = JobSpecifications.isActive()
+                .and(JobSpecifications.matches(filter))
+                .and(JobSpecifications.after(after));
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<Job> jobs = jobRepository.findNewestFirst(spec, pageSize + 1);
+        boolean hasMore = jobs.size() > pageSize;
+        if (hasMore) {
+            jobs = jobs.subList(0, pageSize);
+        }
+
+        return JobPageResponse.builder()
+                .content(jobs.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .nextCursor(hasMore ? JobCursor.of(jobs.get(jobs.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Ranked full-text search served entirely from the in-memory index
+    public List<JobResponse> searchJobs(String query, Integer limit) {
+        int max = limit == null ? DEFAULT_SEARCH_LIMIT : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return jobSearchIndex.search(query, max);
+    }
+
     public JobResponse getJobById(Long id) {
-        Job job = jobRepository.findById(id)
+        Job job = jobRepository.findWithCompanyAndCategoryById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job", id));
         return mapToResponse(job);
     }
 
     @Transactional
-    public JobResponse updateJob(Long id, JobRequest request, String recruiterEmail) {
-        User recruiter = userRepository.findByEmail(recruiterEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Recruiter not found"));
-
+    public JobResponse updateJob(Long id, JobRequest request, Long recruiterId) {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job", id));
 
-        if (!job.getCompany().getUser().getId().equals(recruiter.getId())) {
+        if (!job.getCompany().getUser().getId().equals(recruiterId)) {
             throw new AccessDeniedException("You are not authorized to update this job");
         }
 
@@ -107,6 +163,7 @@ public class JobService {
         job.setTitle(request.getTitle());
         job.setDescription(request.getDescription());
         job.setSkillsRequired(request.getSkillsRequired());
+        job.setSkillBits(skillDictionary.encode(request.getSkillsRequired()));
         job.setJobType(request.getJobType());
         job.setExperienceRequired(request.getExperienceRequired());
         job.setGraduationYear(request.getGraduationYear());
@@ -115,47 +172,105 @@ public class JobService {
         job.setLocation(request.getLocation());
         job.setExpiresAt(request.getExpiresAt());
 
+        // A future publication time (re)schedules the job, taking it down until then if it is live;
+        // a time that is already due publishes a waiting job right away and leaves a live one as is
+        if (request.getPublishAt() != null) {
+            LocalDateTime now = LocalDateTime.now();
+            if (request.getPublishAt().isAfter(now)) {
+                job.setIsActive(false);
+                job.setPublishAt(request.getPublishAt());
+            } else if (job.getPublishAt() != null) {
+                publish(job, now);
+            }
+        }
+
         if (request.getCategoryId() != null) {
             JobCategory category = jobCategoryRepository.findById(request.getCategoryId())
                     .orElseThrow(() -> new ResourceNotFoundException("JobCategory", request.getCategoryId()));
             job.setCategory(category);
         }
 
-        return mapToResponse(jobRepository.save(job));
+        job = jobRepository.save(job);
+        JobResponse response = mapToResponse(job);
+        eventPublisher.publishEvent(JobChangedEvent.upserted(response, job.getSkillBits()));
+        return response;
     }
 
     @Transactional
-    public void deleteJob(Long id, String recruiterEmail) {
-        User recruiter = userRepository.findByEmail(recruiterEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Recruiter not found"));
-
+    public void deleteJob(Long id, Long recruiterId) {
         Job job = jobRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job", id));
 
-        if (!job.getCompany().getUser().getId().equals(recruiter.getId())) {
+        if (!job.getCompany().getUser().getId().equals(recruiterId)) {
             throw new AccessDeniedException("You are not authorized to delete this job");
         }
 
         // Delete all applications for this job first
         applicationRepository.deleteAllByJobId(id);
         jobRepository.delete(job);
+        eventPublisher.publishEvent(JobChangedEvent.removed(id));
     }
 
-    public List<JobResponse> getMyJobs(String recruiterEmail) {
-        User recruiter = userRepository.findByEmail(recruiterEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Recruiter not found"));
-
-        return jobRepository.findAllByCompanyUserId(recruiter.getId())
+    public List<JobResponse> getMyJobs(Long recruiterId) {
+        return jobRepository.findAllByCompanyUserId(recruiterId)
                 .stream().map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
-    @Scheduled(cron = "0 0 0 * * *")
+    // Deactivates the given jobs that are still live past their expiry date; returns the ids changed.
+    // Safe to run on every replica at once: each job is expired, and announced, by one of them only
     @Transactional
-    public void deactivateExpiredJobs() {
-        log.info("Running scheduled job expiry check at midnight...");
-        jobRepository.deactivateExpiredJobs(LocalDate.now());
-        log.info("Expired jobs deactivated.");
+    public List<Long> expireJobs(Collection<Long> jobIds) {
+        List<Long> expiredIds = jobRepository.claimExpired(jobIds, LocalDate.now());
+        if (!expiredIds.isEmpty()) {
+            eventPublisher.publishEvent(JobChangedEvent.expired(expiredIds));
+            log.info("Expired jobs deactivated: {}", expiredIds.size());
+        }
+        return expiredIds;
+    }
+
+    // Publishes the given jobs whose publication time has come; returns the ids handled.
+    // Claimed like expireJobs, so a job goes live, and is announced, once across replicas
+    @Transactional
+    public List<Long> publishScheduledJobs(Collection<Long> jobIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = jobRepository.claimDuePublications(jobIds, now, now.toLocalDate());
+        if (!dueIds.isEmpty()) {
+            for (Job job : jobRepository.findWithCompanyAndCategoryByIdIn(dueIds)) {
+                eventPublisher.publishEvent(JobChangedEvent.upserted(mapToResponse(job), job.getSkillBits()));
+            }
+        }
+        return dueIds;
+    }
+
+    // Goes live now; postedAt moves to the publication instant so the job sorts as new in the feed
+    private void publish(Job job, LocalDateTime now) {
+        job.setIsActive(true);
+        job.setPublishAt(null);
+        job.setPostedAt(now);
+    }
+
+    // Current state of the given jobs, in no particular order; ids that no longer exist are left out
+    @Transactional(readOnly = true)
+    // Current state of jobs changed on another replica, as the events that republish them here
+    public List<JobChangedEvent> getRemoteUpserts(Collection<Long> ids) {
+        return jobRepository.findWithCompanyAndCategoryByIdIn(ids)
+                .stream().map(job -> JobChangedEvent.remoteUpserted(mapToResponse(job), job.getSkillBits()))
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildReadModels() {
+        List<Job> activeJobs = jobRepository.findAllByIsActiveTrue();
+        jobSearchIndex.rebuild(activeJobs.stream().map(this::mapToResponse).collect(Collectors.toList()));
+        jobRecommender.rebuild(activeJobs, this::mapToResponse);
+    }
+
+    // Best matches among active jobs for the seeker's profile
+    public List<RecommendedJobResponse> getRecommendedJobs(Long userId, String location, Integer limit) {
+        int max = limit == null ? DEFAULT_SEARCH_LIMIT : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return jobRecommender.recommend(userId, location, max);
     }
 
     private JobResponse mapToResponse(Job job) {
@@ -173,6 +288,7 @@ public class JobService {
                 .isActive(job.getIsActive())
                 .postedAt(job.getPostedAt())
                 .expiresAt(job.getExpiresAt())
+                .publishAt(job.getPublishAt())
                 .companyName(job.getCompany() != null ? job.getCompany().getCompanyName() : null)
                 .companyLogoUrl(job.getCompany() != null ? job.getCompany().getLogoUrl() : null)
                 .companyWebsite(job.getCompany() != null ? job.getCompany().getWebsite() : null)
@@ -0,0 +1,156 @@
+package com.fresherjobs.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fresherjobs.event.JobChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized snapshots of the public job listing and job details.
+ * Each snapshot keeps the JSON body, its gzip encoding and a strong ETag, so a
+ * cache hit skips JPA, Jackson and compression entirely. Snapshots are dropped
+ * whenever a {@link JobChangedEvent} is committed, on this node or, through
+ * {@link JobChangeRelay}, on any other.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobSnapshotCache {
+
+    private static final int MAX_DETAIL_ENTRIES = 5_000;
+
+    private final ObjectMapper objectMapper;
+
+    // Bumped on every invalidation; a snapshot built under an older version is never stored
+    private final AtomicLong listingVersion = new AtomicLong();
+    private final AtomicLong detailVersion = new AtomicLong();
+
+    private volatile Snapshot listing;
+    private final Map<Long, Snapshot> details = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Snapshot> eldest) {
+                    return size() > MAX_DETAIL_ENTRIES;
+                }
+            });
+
+    // The gzip body is a distinct representation, so it carries its own strong ETag
+    public record Snapshot(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public Snapshot getListing(Supplier<Object> loader) {
+        Snapshot current = listing;
+        if (current != null) {
+            return current;
+        }
+        long version = listingVersion.get();
+        Snapshot built = build(loader.get());
+        synchronized (this) {
+            if (listingVersion.get() == version) {
+                listing = built;
+            }
+        }
+        return built;
+    }
+
+    public Snapshot getDetail(Long jobId, Supplier<Object> loader) {
+        Snapshot current = details.get(jobId);
+        if (current != null) {
+            return current;
+        }
+        long version = detailVersion.get();
+        Snapshot built = build(loader.get());
+        synchronized (details) {
+            if (detailVersion.get() == version) {
+                details.put(jobId, built);
+            }
+        }
+        return built;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobChanged(JobChangedEvent event) {
+        synchronized (this) {
+            listingVersion.incrementAndGet();
+            listing = null;
+        }
+        synchronized (details) {
+            detailVersion.incrementAndGet();
+            event.getJobIds().forEach(details::remove);
+        }
+        log.debug("Job snapshots invalidated for {} {}", event.getType(), event.getJobIds());
+    }
+
+    // Used when changes may have been missed, e.g. while the cross-node channel was down
+    public void invalidateAll() {
+        synchronized (this) {
+            listingVersion.incrementAndGet();
+            listing = null;
+        }
+        synchronized (details) {
+            detailVersion.incrementAndGet();
+            details.clear();
+        }
+    }
+
+    private Snapshot build(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            String hash = hash(json);
+            return new Snapshot(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize job snapshot", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
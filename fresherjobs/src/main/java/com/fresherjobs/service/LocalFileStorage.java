@@ -0,0 +1,118 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.enums.FileKind;
+import com.fresherjobs.enums.ImageVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Keeps files on local disk under {@code app.storage.local.root}, one folder per
+ * {@link FileKind}, and hands out URLs served by {@code GET /api/files/{folder}/{filename}}.
+ * A file is named after its publicId plus the upload's extension, which must be one the
+ * {@link FileKind} accepts. Staged uploads are moved into place atomically, so readers
+ * never see a partial file.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalFileStorage implements FileStorage {
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalFileStorage(@Value("${app.storage.local.root:./uploads}") String root,
+                            @Value("${app.storage.local.base-url:}") String baseUrl) throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        for (FileKind kind : FileKind.values()) {
+            Files.createDirectories(this.root.resolve(kind.getFolder()));
+        }
+        log.info("Local file storage at {}", this.root);
+    }
+
+    @Override
+    public String store(Path source, String originalFilename, FileKind kind, String publicId) {
+        Path folder = root.resolve(kind.getFolder());
+        String filename = publicId + "." + kind.extensionOf(originalFilename)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported file type for " + kind.getFolder()));
+        Path target = folder.resolve(filename);
+        Path copy = null;
+        try {
+            try {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // Staging dir is on another disk: copy next to the target first, then rename
+                copy = Files.createTempFile(folder, "upload-", ".part");
+                Files.copy(source, copy, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(copy, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            // A re-upload with another extension leaves the old file behind under a different name
+            deleteVariants(folder, publicId, filename);
+            return baseUrl + "/api/files/" + kind.getFolder() + "/" + filename;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file: " + e.getMessage(), e);
+        } finally {
+            if (copy != null) {
+                try {
+                    Files.deleteIfExists(copy);
+                } catch (IOException e) {
+                    log.warn("Failed to delete partial copy {}: {}", copy, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Rendered on first request by ImageVariantService
+    @Override
+    public String variantUrl(String url, ImageVariant variant) {
+        if (url == null || !url.startsWith(baseUrl + "/api/files/") || url.contains("?")) {
+            return url;
+        }
+        return url + "?variant=" + variant.getParam();
+    }
+
+    @Override
+    public void delete(FileKind kind, String publicId) {
+        try {
+            deleteVariants(root.resolve(kind.getFolder()), publicId, null);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<Path> locate(FileKind kind, String filename) {
+        Path folder = root.resolve(kind.getFolder());
+        Path file = folder.resolve(filename).normalize();
+        // Rejects "..", nested paths, the in-flight staging files and any extension the kind does not accept
+        if (!folder.equals(file.getParent()) || kind.extensionOf(filename).isEmpty() || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    private static void deleteVariants(Path folder, String publicId, String keep) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, publicId + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                boolean sameId = name.equals(publicId) || name.startsWith(publicId + ".");
+                if (sameId && !name.equals(keep) && !name.endsWith(".part")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.dto.response.NotificationResponse;
+import com.fresherjobs.event.NotificationsCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user registry of open Server-Sent Events streams. Streams are async servlet
+ * responses, so an idle subscriber holds a socket but no request thread; threads
+ * are only borrowed while an event or heartbeat is being written. Event ids are
+ * notification ids, which lets a reconnecting client resume with Last-Event-ID.
+ * <p>
+ * Events and heartbeats are never written on the publishing thread (the outbox drain
+ * or the shared scheduler), which a single client with a full socket buffer would
+ * otherwise stall. Each stream has a bounded queue of pending writes, applied in order
+ * by at most one task at a time on a small dedicated pool. A stream is dropped when a
+ * write fails, when {@code app.sse.max-pending-events} writes pile up behind it, or when
+ * a write has made no progress for a whole heartbeat interval; the client reconnects
+ * and resumes from Last-Event-ID.
+ */
+@Slf4j
+@Component
+public class NotificationHub {
+
+    private final NotificationService notificationService;
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Map<SseEmitter, StreamWriter> writers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor writeExecutor;
+    private final int maxPendingEvents;
+
+    @Value("${app.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.sse.replay-limit:100}")
+    private int replayLimit;
+
+    @Value("${app.sse.max-streams-per-user:5}")
+    private int maxStreamsPerUser;
+
+    public NotificationHub(NotificationService notificationService, MeterRegistry meterRegistry,
+                           @Value("${app.sse.write-workers:2}") int writeWorkers,
+                           @Value("${app.sse.write-queue-capacity:10000}") int writeQueueCapacity,
+                           @Value("${app.sse.max-pending-events:64}") int maxPendingEvents) {
+        this.notificationService = notificationService;
+        this.maxPendingEvents = maxPendingEvents;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writeExecutor = new ThreadPoolExecutor(writeWorkers, writeWorkers, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(writeQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "sse-writer-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        meterRegistry.gauge("sse.connections", connections);
+        meterRegistry.gauge("sse.write.queue.depth", writeExecutor, e -> e.getQueue().size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        writeExecutor.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // compute() so a concurrent unregister cannot drop the list this emitter is added to
+        List<SseEmitter> streams = subscribers.compute(userId, (id, existing) -> {
+            List<SseEmitter> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        connections.incrementAndGet();
+        emitter.onCompletion(() -> unregister(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitter.complete());
+
+        // A user opening more tabs than allowed closes their oldest stream
+        while (streams.size() > maxStreamsPerUser) {
+            SseEmitter oldest = streams.remove(0);
+            connections.decrementAndGet();
+            oldest.complete();
+        }
+
+        // Registered before replaying, so nothing created in between is lost; clients dedupe by id
+        if (lastEventId != null) {
+            for (NotificationResponse missed : notificationService.getCreatedAfter(userId, lastEventId, replayLimit)) {
+                if (!send(emitter, event(missed))) {
+                    break;
+                }
+            }
+        } else {
+            send(emitter, SseEmitter.event().comment("connected"));
+        }
+        return emitter;
+    }
+
+    // Runs on the thread that published the event, so it only queues the writes and never waits on a client
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        for (NotificationsCreatedEvent.Created created : event.getNotifications()) {
+            List<SseEmitter> streams = subscribers.get(created.userId());
+            if (streams == null) {
+                continue;
+            }
+            for (SseEmitter emitter : streams) {
+                push(created.userId(), emitter, event(created.notification()));
+            }
+        }
+    }
+
+    // Keeps idle streams from being cut by proxies and detects clients that went away.
+    // Only queues the writes, so it never waits on a client
+    @Scheduled(fixedRateString = "${app.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((userId, streams) -> {
+            for (SseEmitter emitter : streams) {
+                StreamWriter writer = writers.computeIfAbsent(emitter, e -> new StreamWriter());
+                long written = writer.written.get();
+                if (writer.busyAtHeartbeat && writer.scheduled.get() && written == writer.writtenAtHeartbeat) {
+                    log.debug("Dropping SSE stream of user {}: no write finished for a whole interval", userId);
+                    Future<?> task = writer.task;
+                    if (task != null) {
+                        task.cancel(true);
+                    }
+                    drop(userId, emitter);
+                    continue;
+                }
+                // A stream with writes still queued needs no heartbeat of its own
+                if (writer.pending.get() == 0) {
+                    push(userId, emitter, SseEmitter.event().comment("hb"));
+                }
+                writer.busyAtHeartbeat = writer.scheduled.get();
+                writer.writtenAtHeartbeat = written;
+            }
+        });
+    }
+
+    // Queues a write behind the stream's earlier ones and makes sure a task is applying them
+    private void push(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        StreamWriter writer = writers.computeIfAbsent(emitter, e -> new StreamWriter());
+        if (writer.pending.incrementAndGet() > maxPendingEvents) {
+            log.debug("Dropping SSE stream of user {}: {} writes pending", userId, maxPendingEvents);
+            drop(userId, emitter);
+            return;
+        }
+        writer.events.add(event);
+        if (!writer.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writer.task = writeExecutor.submit(() -> drain(userId, emitter, writer));
+        } catch (RejectedExecutionException e) {
+            // Pool backed up; the client reconnects and resumes from Last-Event-ID
+            drop(userId, emitter);
+        }
+        if (!subscribers.getOrDefault(userId, List.of()).contains(emitter)) {
+            // Unregistered while the write was being queued
+            writers.remove(emitter);
+        }
+    }
+
+    private void drain(Long userId, SseEmitter emitter, StreamWriter writer) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            while ((event = writer.events.poll()) != null) {
+                writer.pending.decrementAndGet();
+                if (!send(emitter, event)) {
+                    drop(userId, emitter);
+                    return;
+                }
+                writer.written.incrementAndGet();
+            }
+            writer.scheduled.set(false);
+            // A write queued after the poll but before the flag was cleared found the task still running
+            if (writer.events.isEmpty() || !writer.scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder event(NotificationResponse notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name("notification")
+                .data(notification, MediaType.APPLICATION_JSON);
+    }
+
+    private boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the stream already completed
+            emitter.complete();
+            return false;
+        }
+    }
+
+    // Removed at once rather than on the completion callback, which a dead connection may never deliver
+    private void drop(Long userId, SseEmitter emitter) {
+        unregister(userId, emitter);
+        emitter.complete();
+    }
+
+    private void unregister(Long userId, SseEmitter emitter) {
+        writers.remove(emitter);
+        subscribers.computeIfPresent(userId, (id, streams) -> {
+            if (streams.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    // Writes queued for one stream, applied in order by at most one pool task at a time
+    private static final class StreamWriter {
+        private final Queue<SseEmitter.SseEventBuilder> events = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong written = new AtomicLong();
+        private volatile Future<?> task;
+        // What the previous heartbeat saw; only the scheduler thread touches these
+        private boolean busyAtHeartbeat;
+        private long writtenAtHeartbeat;
+    }
+}
@@ -0,0 +1,102 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.dto.response.NotificationPageResponse;
+import com.fresherjobs.dto.response.NotificationResponse;
+import com.fresherjobs.entity.Notification;
+import com.fresherjobs.entity.NotificationCounter;
+import com.fresherjobs.repository.NotificationCounterRepository;
+import com.fresherjobs.repository.NotificationCursor;
+import com.fresherjobs.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-app notification feed. The unread count comes from {@link NotificationCounter},
+ * which {@link OutboxDispatcher} increments when it writes notifications and the
+ * mark-read paths here decrement by the number of rows they actually flipped.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository counterRepository;
+
+    public NotificationPageResponse getFeed(Long userId, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        NotificationCursor after = cursor == null || cursor.isBlank() ? null : NotificationCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Notification> notifications = after == null
+                ? notificationRepository.findNewestFirst(userId, limit)
+                : notificationRepository.findNewestFirstAfter(userId, after.createdAt(), after.id(), limit);
+        boolean hasMore = notifications.size() > pageSize;
+        if (hasMore) {
+            notifications = notifications.subList(0, pageSize);
+        }
+
+        return NotificationPageResponse.builder()
+                .content(notifications.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .nextCursor(hasMore ? NotificationCursor.of(notifications.get(notifications.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Notifications a reconnecting stream client missed, oldest first
+    public List<NotificationResponse> getCreatedAfter(Long userId, Long lastSeenId, int limit) {
+        return notificationRepository.findAllByUserIdAndIdGreaterThanOrderByIdAsc(userId, lastSeenId,
+                        PageRequest.of(0, limit)).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public long getUnreadCount(Long userId) {
+        return counterRepository.findById(userId)
+                .map(NotificationCounter::getUnreadCount)
+                .orElseGet(() -> {
+                    // First read for a user who has no counter yet: seed it once from the rows
+                    counterRepository.seed(Set.of(userId));
+                    return counterRepository.findById(userId).map(NotificationCounter::getUnreadCount).orElse(0L);
+                });
+    }
+
+    @Transactional
+    public long markRead(Long userId, Collection<Long> ids) {
+        int updated = notificationRepository.markRead(userId, ids);
+        if (updated > 0) {
+            counterRepository.decrement(userId, updated);
+        }
+        return getUnreadCount(userId);
+    }
+
+    @Transactional
+    public long markAllRead(Long userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        if (updated > 0) {
+            counterRepository.decrement(userId, updated);
+        }
+        return getUnreadCount(userId);
+    }
+
+    private NotificationResponse mapToResponse(Notification notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .isRead(notification.getIsRead())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+}
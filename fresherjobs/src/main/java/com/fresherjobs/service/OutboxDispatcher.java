@@ -0,0 +1,286 @@
+package com.fresherjobs.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fresherjobs.dto.response.NotificationResponse;
+import com.fresherjobs.entity.OutboxMessage;
+import com.fresherjobs.enums.NotifType;
+import com.fresherjobs.enums.OutboxStatus;
+import com.fresherjobs.enums.OutboxType;
+import com.fresherjobs.event.NotificationsCreatedEvent;
+import com.fresherjobs.repository.NotificationCounterRepository;
+import com.fresherjobs.repository.OutboxMessageRepository;
+import com.fresherjobs.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the outbox in batches. IN_APP notifications are written with one
+ * multi-row INSERT per batch; emails are handed to {@link EmailService} together,
+ * so they share Brevo batch requests, and are retried with exponential backoff until {@code app.outbox.max-attempts}.
+ * Rows are locked with SKIP LOCKED, so several replicas can drain concurrently.
+ * <p>
+ * No transaction is held while emails are sent: a short one claims the batch, marking the
+ * emails IN_FLIGHT with a lease of {@code app.outbox.lease-seconds}, and a second one records
+ * the outcome. A claim left behind by a crashed node is picked up again once its lease expires.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    private static final TypeReference<Map<String, String>> VARIABLES_TYPE = new TypeReference<>() {
+    };
+
+    private final OutboxMessageRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final NotificationCounterRepository counterRepository;
+    private final EmailService emailService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+
+    // A send still running after this counts as failed and is retried; must stay below the lease
+    @Value("${app.outbox.send-timeout-seconds:60}")
+    private long sendTimeoutSeconds;
+
+    @Value("${app.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    @Async
+    public void drainAsync() {
+        drain();
+    }
+
+    // Safety net for wake-ups lost to a crash and for rows waiting on a retry backoff
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:5000}")
+    public void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Integer dispatched;
+            do {
+                dispatched = dispatchBatch();
+            } while (dispatched == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox dispatch failed: {}", e.getMessage(), e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    // Emails claimed by one batch; the lease expiry doubles as the claim's identity
+    private record Claim(int size, List<OutboxMessage> emails, LocalDateTime leaseUntil) {
+    }
+
+    private int dispatchBatch() {
+        Claim claim = transactionTemplate.execute(status -> claimBatch());
+        if (claim == null || claim.size() == 0) {
+            return 0;
+        }
+        if (claim.emails().isEmpty()) {
+            return claim.size();
+        }
+
+        // All emails of the batch are queued before waiting, so the pipeline can group them into few requests
+        Map<Long, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+        for (OutboxMessage message : claim.emails()) {
+            sends.put(message.getId(), submitEmail(message).orTimeout(sendTimeoutSeconds, TimeUnit.SECONDS));
+        }
+        Map<Long, Throwable> failures = new HashMap<>();
+        for (Map.Entry<Long, CompletableFuture<Void>> entry : sends.entrySet()) {
+            try {
+                entry.getValue().join();
+            } catch (CompletionException e) {
+                failures.put(entry.getKey(), e.getCause() != null ? e.getCause() : e);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> recordSends(claim, failures));
+        return claim.size();
+    }
+
+    // In-app notifications are plain inserts, so they are delivered within the claim itself
+    private Claim claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = outboxRepository.lockDueBatch(
+                List.of(OutboxStatus.PENDING, OutboxStatus.IN_FLIGHT), now, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return new Claim(0, List.of(), null);
+        }
+
+        LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds).truncatedTo(ChronoUnit.MICROS);
+        List<OutboxMessage> notifications = new ArrayList<>();
+        List<OutboxMessage> emails = new ArrayList<>();
+        for (OutboxMessage message : batch) {
+            if (message.getType() == OutboxType.IN_APP_NOTIFICATION) {
+                notifications.add(message);
+            } else {
+                message.setStatus(OutboxStatus.IN_FLIGHT);
+                message.setNextAttemptAt(leaseUntil);
+                emails.add(message);
+            }
+        }
+
+        insertNotifications(notifications);
+        outboxRepository.deleteAllInBatch(notifications);
+        recordDelivered(notifications);
+        return new Claim(batch.size(), emails, leaseUntil);
+    }
+
+    private void recordSends(Claim claim, Map<Long, Throwable> failures) {
+        List<Long> ids = claim.emails().stream().map(OutboxMessage::getId).toList();
+        List<OutboxMessage> delivered = new ArrayList<>();
+        for (OutboxMessage message : outboxRepository.findClaimed(ids, OutboxStatus.IN_FLIGHT, claim.leaseUntil())) {
+            Throwable failure = failures.get(message.getId());
+            if (failure == null) {
+                delivered.add(message);
+            } else {
+                scheduleRetry(message, failure);
+            }
+        }
+        outboxRepository.deleteAllInBatch(delivered);
+        recordDelivered(delivered);
+    }
+
+    private void recordDelivered(List<OutboxMessage> delivered) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxMessage message : delivered) {
+            String type = message.getType().name();
+            meterRegistry.counter("outbox.delivered", "type", type).increment();
+            if (message.getCreatedAt() != null) {
+                meterRegistry.timer("outbox.delivery.lag", "type", type)
+                        .record(Duration.between(message.getCreatedAt(), now));
+            }
+        }
+    }
+
+    private CompletableFuture<Void> submitEmail(OutboxMessage message) {
+        try {
+            Map<String, String> variables = objectMapper.readValue(message.getPayload(), VARIABLES_TYPE);
+            return emailService.submitHtmlEmail(
+                    message.getRecipientEmail(), message.getSubject(), message.getTemplateName(), variables);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void scheduleRetry(OutboxMessage message, Throwable e) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(e.getMessage());
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            meterRegistry.counter("outbox.failed", "type", message.getType().name()).increment();
+            log.error("Outbox message {} failed permanently after {} attempts: {}",
+                    message.getId(), attempts, e.getMessage());
+        } else {
+            long delay = retryBackoffSeconds << (attempts - 1);
+            message.setStatus(OutboxStatus.PENDING);
+            message.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+            meterRegistry.counter("outbox.retried", "type", message.getType().name()).increment();
+            log.warn("Outbox message {} attempt {} failed, retrying in {}s: {}",
+                    message.getId(), attempts, delay, e.getMessage());
+        }
+    }
+
+    // One multi-row INSERT for the whole batch; recipients deleted since enqueue are skipped.
+    // Unread counters are bumped in the same transaction, so the count never drifts from the rows,
+    // and the inserted rows are handed to live subscribers once the batch commits.
+    private void insertNotifications(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Set<Long> recipientIds = new HashSet<>();
+        messages.forEach(m -> recipientIds.add(m.getRecipientUserId()));
+        Set<Long> existing = new HashSet<>(userRepository.findExistingIds(recipientIds));
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO notifications (user_id, message, type, is_read, created_at) VALUES ");
+        List<Object> args = new ArrayList<>();
+        Map<Long, Integer> unreadDeltas = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            if (!existing.contains(message.getRecipientUserId())) {
+                continue;
+            }
+            unreadDeltas.merge(message.getRecipientUserId(), 1, Integer::sum);
+            sql.append(args.isEmpty() ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+            args.add(message.getRecipientUserId());
+            args.add(message.getPayload());
+            args.add(NotifType.IN_APP.name());
+            args.add(false);
+            args.add(Timestamp.valueOf(message.getCreatedAt() != null ? message.getCreatedAt() : LocalDateTime.now()));
+        }
+        if (args.isEmpty()) {
+            return;
+        }
+        // Counters seeded here start from the rows already present, before this batch is inserted
+        counterRepository.seed(unreadDeltas.keySet());
+        sql.append(" RETURNING id, user_id, message, type, created_at");
+        List<NotificationsCreatedEvent.Created> created = jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new NotificationsCreatedEvent.Created(
+                        rs.getLong("user_id"),
+                        NotificationResponse.builder()
+                                .id(rs.getLong("id"))
+                                .message(rs.getString("message"))
+                                .type(NotifType.valueOf(rs.getString("type")))
+                                .isRead(false)
+                                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                                .build()),
+                args.toArray());
+        incrementUnreadCounters(unreadDeltas);
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(created));
+    }
+
+    private void incrementUnreadCounters(Map<Long, Integer> deltas) {
+        StringBuilder sql = new StringBuilder(
+                "UPDATE notification_counters c SET unread_count = c.unread_count + v.delta FROM (VALUES ");
+        List<Object> args = new ArrayList<>();
+        for (Map.Entry<Long, Integer> delta : deltas.entrySet()) {
+            sql.append(args.isEmpty() ? "(?, ?)" : ", (?, ?)");
+            args.add(delta.getKey());
+            args.add(delta.getValue());
+        }
+        sql.append(") AS v(user_id, delta) WHERE c.user_id = v.user_id");
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -0,0 +1,66 @@
+package com.fresherjobs.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fresherjobs.entity.OutboxMessage;
+import com.fresherjobs.enums.OutboxType;
+import com.fresherjobs.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Records notifications and emails in the outbox as part of the caller's
+ * transaction. Nothing is delivered unless that transaction commits; the
+ * {@link OutboxDispatcher} is woken right after commit to drain the new rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final OutboxDispatcher outboxDispatcher;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueNotification(Long userId, String message) {
+        save(OutboxMessage.builder()
+                .type(OutboxType.IN_APP_NOTIFICATION)
+                .recipientUserId(userId)
+                .payload(message)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueEmail(String to, String subject, String templateName, Map<String, String> variables) {
+        try {
+            save(OutboxMessage.builder()
+                    .type(OutboxType.EMAIL)
+                    .recipientEmail(to)
+                    .subject(subject)
+                    .templateName(templateName)
+                    .payload(objectMapper.writeValueAsString(variables))
+                    .nextAttemptAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize email variables", e);
+        }
+    }
+
+    private void save(OutboxMessage message) {
+        outboxRepository.save(message);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.drainAsync();
+            }
+        });
+    }
+}
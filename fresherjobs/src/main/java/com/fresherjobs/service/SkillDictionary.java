@@ -0,0 +1,264 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.entity.FresherProfile;
+import com.fresherjobs.entity.Job;
+import com.fresherjobs.entity.Skill;
+import com.fresherjobs.repository.FresherProfileRepository;
+import com.fresherjobs.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Global dictionary of skills. Free-text skill lists ("ReactJS, Node JS / SQL") are
+ * split, normalized to a compact key and resolved through skill-aliases.properties
+ * to a canonical skill ("react", "node.js", "sql"). Each canonical skill gets a
+ * permanent integer id from the {@code skills} table, and a job's or profile's
+ * skills are stored as a bitset of those ids, so the overlap between any job and
+ * any candidate is an AND plus a popcount.
+ * <p>
+ * Only the canonical names from the aliases file, seeded at startup, and skills an
+ * admin adds through {@link #add} get an id; {@link #encode} never writes, so saving
+ * a job or profile with free-text skills neither grows the table nor burns ids in a
+ * transaction that may roll back. Unknown skills stay in the text and are simply
+ * not matched until they are added.
+ */
+@Slf4j
+@Service
+public class SkillDictionary {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[,;|/\\n\\r\\t•]+");
+    private static final Pattern KEY_STRIP = Pattern.compile("[\\s._\\-]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_SKILL_LENGTH = 60;
+    private static final int MAX_SKILLS = 100;
+    private static final int BACKFILL_BATCH_SIZE = 200;
+    private static final long[] NO_SKILLS = new long[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobRepository jobRepository;
+    private final FresherProfileRepository profileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSkills;
+
+    // Compact key -> canonical name, from skill-aliases.properties
+    private final Map<String, String> aliases = new HashMap<>();
+    private final Map<String, Integer> idsByKey = new ConcurrentHashMap<>();
+
+    public SkillDictionary(JdbcTemplate jdbcTemplate, JobRepository jobRepository,
+                           FresherProfileRepository profileRepository, PlatformTransactionManager transactionManager,
+                           @Value("${app.skills.max-dictionary-size:2048}") int maxSkills) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobRepository = jobRepository;
+        this.profileRepository = profileRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxSkills = maxSkills;
+        loadAliases();
+    }
+
+    // Canonical names of the skills in a free-text list, in order and without duplicates
+    public List<String> canonicalize(String text) {
+        return new ArrayList<>(parse(text).values());
+    }
+
+    // Bitset of dictionary ids for a free-text list, as stored in the skill_bits columns; skills not in the dictionary are left out
+    public byte[] encode(String text) {
+        Map<String, String> skills = parse(text);
+        List<String> unknown = skills.keySet().stream().filter(key -> !idsByKey.containsKey(key)).toList();
+        if (!unknown.isEmpty()) {
+            // Possibly added on another node since this one loaded the dictionary
+            lookUp(unknown);
+        }
+        BitSet bits = new BitSet();
+        for (String key : skills.keySet()) {
+            Integer id = idsByKey.get(key);
+            if (id != null) {
+                bits.set(id);
+            }
+        }
+        return bits.toByteArray();
+    }
+
+    /**
+     * Adds a skill to the dictionary and re-encodes the jobs and profiles that mention
+     * it. Runs its own short transactions, so it must not be called inside another.
+     */
+    public Skill add(String name) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Skills are added outside of any transaction");
+        }
+        String cleaned = name == null ? "" : WHITESPACE.matcher(name.trim().toLowerCase()).replaceAll(" ");
+        String key = toKey(cleaned);
+        if (key.isEmpty() || cleaned.length() > MAX_SKILL_LENGTH || SEPARATORS.matcher(cleaned).find()) {
+            throw new IllegalArgumentException("Skill names are up to " + MAX_SKILL_LENGTH
+                    + " characters and cannot contain list separators");
+        }
+        String alias = aliases.get(key);
+        if (alias != null) {
+            cleaned = alias;
+            key = toKey(alias);
+        }
+        Integer existing = idsByKey.get(key);
+        if (existing != null) {
+            return new Skill(existing, key, cleaned);
+        }
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM skills", Integer.class);
+        if (count != null && count >= maxSkills) {
+            throw new IllegalStateException("The skill dictionary is full (" + maxSkills + " skills)");
+        }
+
+        Integer id = jdbcTemplate.queryForObject(
+                "INSERT INTO skills (skill_key, name) VALUES (?, ?) "
+                        + "ON CONFLICT (skill_key) DO UPDATE SET skill_key = EXCLUDED.skill_key RETURNING id",
+                Integer.class, key, cleaned);
+        idsByKey.put(key, id);
+        log.info("Skill '{}' added to the dictionary with id {}", cleaned, id);
+
+        // Rows written before the skill had an id are missing its bit
+        jdbcTemplate.update("UPDATE jobs SET skill_bits = NULL WHERE strpos(lower(skills_required), ?) > 0", cleaned);
+        jdbcTemplate.update("UPDATE fresher_profiles SET skill_bits = NULL WHERE strpos(lower(skills), ?) > 0", cleaned);
+        backfill();
+        return new Skill(id, key, cleaned);
+    }
+
+    public static long[] words(byte[] skillBits) {
+        return skillBits == null || skillBits.length == 0 ? NO_SKILLS : BitSet.valueOf(skillBits).toLongArray();
+    }
+
+    // Number of skills two bitsets share: one AND and one popcount per 64 dictionary entries
+    public static int overlap(long[] a, long[] b) {
+        int shared = 0;
+        for (int i = 0, n = Math.min(a.length, b.length); i < n; i++) {
+            shared += Long.bitCount(a[i] & b[i]);
+        }
+        return shared;
+    }
+
+    public static int count(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // Seeds the alias targets, loads known ids and fills skill_bits for rows written before the dictionary existed
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAndBackfill() {
+        load();
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (String name : aliases.values()) {
+            String key = toKey(name);
+            if (!idsByKey.containsKey(key)) {
+                missing.putIfAbsent(key, name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            // Only races with another node starting at the same moment can hit the conflict
+            jdbcTemplate.batchUpdate("INSERT INTO skills (skill_key, name) VALUES (?, ?) ON CONFLICT (skill_key) DO NOTHING",
+                    missing.entrySet().stream().map(e -> new Object[]{e.getKey(), e.getValue()}).toList());
+            load();
+        }
+        log.info("Skill dictionary loaded with {} skills and {} aliases", idsByKey.size(), aliases.size());
+        backfill();
+    }
+
+    private void load() {
+        jdbcTemplate.query("SELECT id, skill_key FROM skills",
+                (RowCallbackHandler) rs -> idsByKey.put(rs.getString("skill_key"), rs.getInt("id")));
+    }
+
+    private void lookUp(List<String> keys) {
+        String placeholders = String.join(",", Collections.nCopies(keys.size(), "?"));
+        jdbcTemplate.query("SELECT id, skill_key FROM skills WHERE skill_key IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> idsByKey.put(rs.getString("skill_key"), rs.getInt("id")), keys.toArray());
+    }
+
+    private void backfill() {
+        int jobs = 0;
+        Integer batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<Job> page = jobRepository.findWithoutSkillBits(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                page.forEach(job -> job.setSkillBits(encode(job.getSkillsRequired())));
+                return page.size();
+            });
+            jobs += batch == null ? 0 : batch;
+        } while (batch != null && batch == BACKFILL_BATCH_SIZE);
+
+        int profiles = 0;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<FresherProfile> page = profileRepository.findWithoutSkillBits(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                page.forEach(profile -> profile.setSkillBits(encode(profile.getSkills())));
+                return page.size();
+            });
+            profiles += batch == null ? 0 : batch;
+        } while (batch != null && batch == BACKFILL_BATCH_SIZE);
+
+        if (jobs > 0 || profiles > 0) {
+            log.info("Backfilled skill bitsets for {} jobs and {} profiles", jobs, profiles);
+        }
+    }
+
+    // Compact key -> canonical name for every recognizable skill in the text
+    private Map<String, String> parse(String text) {
+        Map<String, String> skills = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return skills;
+        }
+        for (String raw : SEPARATORS.split(text)) {
+            String cleaned = WHITESPACE.matcher(raw.trim().toLowerCase()).replaceAll(" ");
+            if (cleaned.isEmpty() || cleaned.length() > MAX_SKILL_LENGTH) {
+                continue;
+            }
+            String key = toKey(cleaned);
+            if (key.isEmpty()) {
+                continue;
+            }
+            String alias = aliases.get(key);
+            String name = alias != null ? alias : cleaned;
+            skills.putIfAbsent(alias != null ? toKey(alias) : key, name);
+            if (skills.size() == MAX_SKILLS) {
+                break;
+            }
+        }
+        return skills;
+    }
+
+    private static String toKey(String name) {
+        return KEY_STRIP.matcher(name.toLowerCase()).replaceAll("");
+    }
+
+    private void loadAliases() {
+        try {
+            Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("skill-aliases.properties"));
+            properties.forEach((key, name) -> aliases.put(toKey((String) key), ((String) name).trim().toLowerCase()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load skill aliases", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.exception.LeaseLostException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes work on one storage key across all nodes with a row in {@code upload_leases},
+ * so a transfer to the storage backend can run with no transaction open and no pooled
+ * connection held. The lease is renewed in the background while held and deleted on
+ * {@link Lease#close()}; a crashed holder's lease expires after {@code app.uploads.lease-ttl-ms}.
+ * <p>
+ * Writes that depend on the lease call {@link Lease#fence()} in their transaction, which
+ * share-locks the row, so a takeover waits for them and a holder that lost its lease
+ * cannot commit. Lease times use the database clock.
+ */
+@Slf4j
+@Service
+public class StorageKeyLeases {
+
+    private final JdbcTemplate jdbcTemplate;
+    // Taking and releasing commit at once, even when called from a transaction's afterCommit
+    private final TransactionTemplate ownTransaction;
+    private final long leaseTtlMs;
+    private final long waitMs;
+    private final long pollMs;
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "upload-lease-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StorageKeyLeases(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            @Value("${app.uploads.lease-ttl-ms:60000}") long leaseTtlMs,
+                            @Value("${app.uploads.lease-wait-ms:120000}") long waitMs,
+                            @Value("${app.uploads.lease-poll-ms:100}") long pollMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseTtlMs = leaseTtlMs;
+        this.waitMs = waitMs;
+        this.pollMs = pollMs;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    /**
+     * Waits until the lease for {@code storageKey} is free and takes it; throws
+     * IllegalStateException if another holder keeps it past {@code app.uploads.lease-wait-ms}.
+     */
+    public Lease acquire(String storageKey) {
+        String owner = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (!tryAcquire(storageKey, owner)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Another upload of this file is still in progress, please try again");
+            }
+            try {
+                Thread.sleep(pollMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an upload of the same file", e);
+            }
+        }
+        Lease lease = new Lease(storageKey, owner);
+        long renewEvery = Math.max(leaseTtlMs / 3, 1);
+        lease.renewal = renewer.scheduleAtFixedRate(lease::renew, renewEvery, renewEvery, TimeUnit.MILLISECONDS);
+        return lease;
+    }
+
+    // Takes the row if it is absent or expired
+    private boolean tryAcquire(String storageKey, String owner) {
+        return !ownTransaction.execute(status -> jdbcTemplate.queryForList(
+                "INSERT INTO upload_leases (storage_key, owner, lease_until) "
+                        + "VALUES (?, ?, LOCALTIMESTAMP + ? * INTERVAL '1 millisecond') "
+                        + "ON CONFLICT (storage_key) DO UPDATE SET owner = EXCLUDED.owner, "
+                        + "lease_until = EXCLUDED.lease_until "
+                        + "WHERE upload_leases.lease_until < LOCALTIMESTAMP "
+                        + "RETURNING owner",
+                String.class, storageKey, owner, leaseTtlMs)).isEmpty();
+    }
+
+    // Handle for a held lease; closing it releases the key for the next waiter
+    public final class Lease implements AutoCloseable {
+
+        private final String storageKey;
+        private final String owner;
+        private volatile ScheduledFuture<?> renewal;
+        private volatile boolean lost;
+
+        private Lease(String storageKey, String owner) {
+            this.storageKey = storageKey;
+            this.owner = owner;
+        }
+
+        /**
+         * Guards the writes of the current transaction: throws LeaseLostException unless this
+         * lease is still held, and otherwise keeps its row share-locked until the transaction ends.
+         */
+        public void fence() {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw new IllegalStateException("Lease.fence() must run inside the transaction it guards");
+            }
+            // clock_timestamp(): LOCALTIMESTAMP is frozen at the start of the transaction
+            List<Integer> held = lost ? List.of() : jdbcTemplate.queryForList(
+                    "SELECT 1 FROM upload_leases WHERE storage_key = ? AND owner = ? "
+                            + "AND lease_until > clock_timestamp()::timestamp FOR SHARE",
+                    Integer.class, storageKey, owner);
+            if (held.isEmpty()) {
+                lost = true;
+                throw new LeaseLostException("Lease for " + storageKey + " was taken over by another upload");
+            }
+        }
+
+        @Override
+        public void close() {
+            renewal.cancel(false);
+            try {
+                ownTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                        "DELETE FROM upload_leases WHERE storage_key = ? AND owner = ?", storageKey, owner));
+            } catch (RuntimeException e) {
+                // The lease will lapse on its own after the TTL
+                log.warn("Failed to release upload lease for {}: {}", storageKey, e.getMessage());
+            }
+        }
+
+        private void renew() {
+            if (lost) {
+                return;
+            }
+            try {
+                int renewed = jdbcTemplate.update(
+                        "UPDATE upload_leases SET lease_until = LOCALTIMESTAMP + ? * INTERVAL '1 millisecond' "
+                                + "WHERE storage_key = ? AND owner = ?",
+                        leaseTtlMs, storageKey, owner);
+                if (renewed == 0) {
+                    lost = true;
+                    log.warn("Upload lease for {} was taken over", storageKey);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to renew upload lease for {}: {}", storageKey, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.fresherjobs.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Moves a multipart upload into a staging file with {@link MultipartFile#transferTo(File)},
+ * which for a part the container already spooled to disk is a rename rather than a copy.
+ * The SHA-256 is then read back from the staged file through one fixed-size buffer, so an
+ * upload never holds more than {@code app.uploads.buffer-bytes} of it on the heap.
+ * Staged files outlive the request, which lets the transfer to storage run later.
+ */
+@Slf4j
+@Component
+public class UploadStaging {
+
+    private final int bufferBytes;
+    private final Path directory;
+
+    public UploadStaging(@Value("${app.uploads.buffer-bytes:65536}") int bufferBytes,
+                         @Value("${app.uploads.staging-dir:}") String directory) throws IOException {
+        this.bufferBytes = bufferBytes;
+        this.directory = directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"))
+                : Files.createDirectories(Path.of(directory)).toAbsolutePath();
+    }
+
+    // Staged file with the SHA-256 (hex) and length of its content
+    public record StagedUpload(Path path, String sha256, long size) {
+    }
+
+    // The caller owns the returned file and deletes it once stored
+    public StagedUpload stage(MultipartFile file) throws IOException {
+        // Not created up front: transferTo renames the spooled part onto this path
+        Path staged = directory.resolve("upload-" + UUID.randomUUID() + ".part");
+        try {
+            // The File overload hands the path to Part.write, which renames the spooled part;
+            // the Path overload streams it through a copy buffer instead
+            file.transferTo(staged.toFile());
+            MessageDigest digest = sha256();
+            ByteBuffer buffer = ByteBuffer.allocate(bufferBytes);
+            long size = 0;
+            try (FileChannel channel = FileChannel.open(staged, StandardOpenOption.READ)) {
+                int read;
+                while ((read = channel.read(buffer)) != -1) {
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                    size += read;
+                }
+            }
+            return new StagedUpload(staged, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void discard(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException e) {
+            log.warn("Failed to delete staged upload {}: {}", staged, e.getMessage());
+        }
+    }
+}
@@ -4,10 +4,14 @@ import com.fresherjobs.entity.Company;
 import com.fresherjobs.entity.FresherProfile;
 import com.fresherjobs.entity.Job;
 import com.fresherjobs.entity.User;
+import com.fresherjobs.enums.FileKind;
 import com.fresherjobs.enums.Role;
+import com.fresherjobs.event.JobChangedEvent;
 import com.fresherjobs.exception.ResourceNotFoundException;
 import com.fresherjobs.repository.*;
+import com.fresherjobs.security.TtlUserCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,7 +26,11 @@ public class UserService {
     private final CompanyRepository companyRepository;
     private final JobRepository jobRepository;
     private final ApplicationRepository applicationRepository;
-    private final CloudinaryService cloudinaryService;
+    private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final FileUploadService fileUploadService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TtlUserCache userCache;
 
     @Transactional
     public void deleteUser(Long userId) {
@@ -35,21 +43,22 @@ public class UserService {
             deleteRecruiter(user);
         }
 
+        notificationRepository.deleteAllByUserId(userId);
+        notificationCounterRepository.deleteById(userId);
         userRepository.delete(user);
+        userCache.evict(user.getEmail());
     }
 
     private void deleteJobSeeker(User user) {
         // Delete Fresher Profile
         fresherProfileRepository.findByUserId(user.getId()).ifPresent(profile -> {
-            // Delete Cloudinary Files
+            // Delete stored files; FileUploadService waits for this transaction to commit
             if (profile.getResumeUrl() != null) {
                 // Determine publicId from email (stable ID pattern)
-                String publicId = user.getEmail().replaceAll("[^a-zA-Z0-9]", "_") + "_resume";
-                cloudinaryService.deleteFile(publicId);
+                fileUploadService.delete(FileKind.RESUME, user.getEmail());
             }
             if (profile.getProfilePhoto() != null) {
-                String publicId = user.getEmail().replaceAll("[^a-zA-Z0-9]", "_") + "_photo";
-                cloudinaryService.deleteFile(publicId);
+                fileUploadService.delete(FileKind.PHOTO, user.getEmail());
             }
             fresherProfileRepository.delete(profile);
         });
@@ -66,11 +75,11 @@ public class UserService {
                 // Delete applications for this job first
                 applicationRepository.deleteAllByJobId(job.getId());
                 jobRepository.delete(job);
+                eventPublisher.publishEvent(JobChangedEvent.removed(job.getId()));
             }
             if (company.getLogoUrl() != null) {
                 // Assuming logo public ID logic if implemented
-                String publicId = user.getEmail().replaceAll("[^a-zA-Z0-9]", "_") + "_logo";
-                cloudinaryService.deleteFile(publicId);
+                fileUploadService.delete(FileKind.LOGO, user.getEmail());
             }
             companyRepository.delete(company);
         });
@@ -0,0 +1,62 @@
+package com.fresherjobs.benchmark;
+
+import com.fresherjobs.entity.User;
+import com.fresherjobs.enums.Role;
+import com.fresherjobs.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifications per second of {@link JwtUtil#verify} on a cache hit against a full signature check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "benchmark-secret-benchmark-secret-0123456789".getBytes(StandardCharsets.UTF_8));
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtUtil(SECRET, 86_400_000L, 4096);
+        // A cache of size 0 evicts every entry on insert, so each call parses and verifies
+        uncached = new JwtUtil(SECRET, 86_400_000L, 0);
+        token = cached.generateToken(User.builder()
+                .id(42L)
+                .email("seeker@example.com")
+                .role(Role.JOB_SEEKER)
+                .isApproved(true)
+                .build());
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public Object verifyCacheHit() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public Object verifyFullCheck() {
+        return uncached.verify(token);
+    }
+}
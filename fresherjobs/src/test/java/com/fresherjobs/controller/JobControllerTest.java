@@ -0,0 +1,25 @@
+package com.fresherjobs.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobControllerTest {
+
+    @Test
+    void gzipIsServedWhenTheClientAcceptsIt() {
+        assertThat(JobController.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(JobController.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(JobController.acceptsGzip("*")).isTrue();
+    }
+
+    @Test
+    void aZeroQualityRefusesGzip() {
+        assertThat(JobController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(JobController.acceptsGzip("br, gzip; q=0.0")).isFalse();
+        assertThat(JobController.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(JobController.acceptsGzip("*;q=0")).isFalse();
+        assertThat(JobController.acceptsGzip("identity")).isFalse();
+        assertThat(JobController.acceptsGzip(null)).isFalse();
+    }
+}
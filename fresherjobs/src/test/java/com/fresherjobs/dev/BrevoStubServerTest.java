@@ -0,0 +1,91 @@
+package com.fresherjobs.dev;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fresherjobs.enums.EmailPriority;
+import com.fresherjobs.service.EmailDeliveryPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the email pipeline against the stub, the way the brevo-stub profile wires them,
+ * and reads the batching back from {@code /stats}.
+ */
+class BrevoStubServerTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final BrevoStubServer stub = new BrevoStubServer(objectMapper);
+    private final EmailDeliveryPipeline pipeline = new EmailDeliveryPipeline(restTemplate, new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(stub, "port", 0);
+        ReflectionTestUtils.setField(stub, "latencyMs", 10L);
+        stub.start();
+
+        ReflectionTestUtils.setField(pipeline, "brevoApiUrl", "http://localhost:" + stub.getPort() + "/v3/smtp/email");
+        ReflectionTestUtils.setField(pipeline, "apiKey", "stub-key");
+        ReflectionTestUtils.setField(pipeline, "fromEmail", "noreply@fresherjobs.test");
+        ReflectionTestUtils.setField(pipeline, "fromName", "FresherJobs");
+        ReflectionTestUtils.setField(pipeline, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(pipeline, "lingerMs", 200L);
+        ReflectionTestUtils.setField(pipeline, "highCapacity", 1000);
+        ReflectionTestUtils.setField(pipeline, "bulkCapacity", 10000);
+        ReflectionTestUtils.setField(pipeline, "highOfferTimeoutMs", 500L);
+        ReflectionTestUtils.setField(pipeline, "senderThreads", 2);
+        // Unlimited, so only batching decides how many requests go out
+        ReflectionTestUtils.setField(pipeline, "sendsPerSecond", 0.0);
+        ReflectionTestUtils.invokeMethod(pipeline, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(pipeline, "stop");
+        stub.stop();
+    }
+
+    @Test
+    void bulkMailGoesOutInFullBatches() throws Exception {
+        int count = 4 * BATCH_SIZE;
+        List<CompletableFuture<Void>> sent = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            sent.add(pipeline.submitHtml(EmailPriority.BULK, "seeker" + i + "@example.com",
+                    "New jobs for you", "<p>Digest " + i + "</p>"));
+        }
+        CompletableFuture.allOf(sent.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        JsonNode stats = stats();
+        assertThat(stats.get("messages").asLong()).isEqualTo(count);
+        assertThat(stats.get("largestBatch").asInt()).isEqualTo(BATCH_SIZE);
+        assertThat(stats.get("requests").asLong()).isBetween((long) count / BATCH_SIZE, (long) count / BATCH_SIZE + 2);
+    }
+
+    @Test
+    void highMailIsSentWithoutWaitingToFillABatch() throws Exception {
+        pipeline.submitHtml(EmailPriority.HIGH, "seeker@example.com", "Reset your password", "<p>Reset</p>")
+                .get(10, TimeUnit.SECONDS);
+
+        JsonNode stats = stats();
+        assertThat(stats.get("requests").asLong()).isEqualTo(1);
+        assertThat(stats.get("largestBatch").asInt()).isEqualTo(1);
+    }
+
+    private JsonNode stats() throws Exception {
+        return objectMapper.readTree(restTemplate.getForObject("http://localhost:" + stub.getPort() + "/stats",
+                String.class));
+    }
+}
@@ -0,0 +1,50 @@
+package com.fresherjobs.security;
+
+import com.fresherjobs.entity.User;
+import com.fresherjobs.enums.Role;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "test-secret-test-secret-test-secret-0123456789".getBytes(StandardCharsets.UTF_8));
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 86_400_000L, 4096);
+
+    @Test
+    void aVerifiedTokenIsServedFromTheCache() {
+        String token = jwtUtil.generateToken(user(42L, Role.JOB_SEEKER));
+
+        TokenClaims first = jwtUtil.verify(token);
+
+        assertThat(first).isNotNull();
+        assertThat(jwtUtil.verify(new String(token))).isSameAs(first);
+    }
+
+    @Test
+    void aKnownSignatureDoesNotVouchForAnyOtherToken() {
+        String seeker = jwtUtil.generateToken(user(42L, Role.JOB_SEEKER));
+        String admin = jwtUtil.generateToken(user(1L, Role.ADMIN));
+        assertThat(jwtUtil.verify(seeker)).isNotNull();
+
+        String signature = seeker.substring(seeker.lastIndexOf('.') + 1);
+        String swappedPayload = admin.substring(0, admin.lastIndexOf('.') + 1) + signature;
+
+        assertThat(jwtUtil.verify("x.y." + signature)).isNull();
+        assertThat(jwtUtil.verify(swappedPayload)).isNull();
+    }
+
+    private static User user(Long id, Role role) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .role(role)
+                .isApproved(true)
+                .build();
+    }
+}
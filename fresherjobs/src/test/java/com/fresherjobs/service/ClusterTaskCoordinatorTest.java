@@ -0,0 +1,248 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.entity.TaskExecution;
+import com.fresherjobs.enums.TaskRunStatus;
+import com.fresherjobs.exception.LeaseLostException;
+import com.fresherjobs.repository.TaskExecutionRepository;
+import com.fresherjobs.support.PostgresTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Several coordinators with distinct node ids share one database, standing in for replicas.
+ */
+class ClusterTaskCoordinatorTest extends PostgresTestSupport {
+
+    // Long enough that the background renewal never fires during a test
+    private static final long TTL_MS = 60_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskExecutionRepository executionRepository;
+
+    private final List<ClusterTaskCoordinator> nodes = new ArrayList<>();
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+    private final String task = "test-task-" + UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+        nodes.forEach(ClusterTaskCoordinator::shutdown);
+    }
+
+    @Test
+    void onlyOneNodeRunsWhileTheLeaseIsHeld() throws Exception {
+        ClusterTaskCoordinator a = node("node-a");
+        ClusterTaskCoordinator b = node("node-b");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        Future<Boolean> first = threads.submit(() -> a.runExclusively(task, lease -> {
+            running.countDown();
+            await(finish);
+        }));
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(b.runExclusively(task, lease -> {
+            throw new AssertionError("ran while another node held the lease");
+        })).isFalse();
+
+        finish.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isTrue();
+        // Released on completion, so the next trigger anywhere can run at once
+        assertThat(b.runExclusively(task, lease -> { })).isTrue();
+    }
+
+    @Test
+    void racingNodesElectExactlyOneHolder() throws Exception {
+        int nodeCount = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> winners = ConcurrentHashMap.newKeySet();
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            ClusterTaskCoordinator node = node("racer-" + i);
+            String name = "racer-" + i;
+            results.add(threads.submit(() -> {
+                await(start);
+                return node.runExclusively(task, lease -> {
+                    winners.add(name);
+                    await(release);
+                });
+            }));
+        }
+
+        start.countDown();
+        // Losers return at once; the winner is still inside its task
+        Thread.sleep(500);
+        release.countDown();
+        int ran = 0;
+        for (Future<Boolean> result : results) {
+            ran += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        assertThat(ran).isEqualTo(1);
+        assertThat(winners).hasSize(1);
+    }
+
+    @Test
+    void fencingTokensGrowWithEveryAcquisition() {
+        ClusterTaskCoordinator a = node("node-a");
+        ClusterTaskCoordinator b = node("node-b");
+        List<Long> tokens = new ArrayList<>();
+
+        for (int i = 0; i < 6; i++) {
+            ClusterTaskCoordinator node = i % 3 == 0 ? b : a;
+            assertThat(node.runExclusively(task, lease -> tokens.add(lease.getFencingToken()))).isTrue();
+        }
+
+        assertThat(tokens).hasSize(6).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndTheStaleHolderIsFencedOff() throws Exception {
+        ClusterTaskCoordinator a = node("node-a");
+        ClusterTaskCoordinator b = node("node-b");
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        AtomicReference<Long> staleToken = new AtomicReference<>();
+
+        Future<Boolean> stale = threads.submit(() -> a.runExclusively(task, lease -> {
+            staleToken.set(lease.getFencingToken());
+            stalled.countDown();
+            await(resume);
+            // Back from a pause longer than the lease: its next write batch must not go through
+            transactionTemplate.executeWithoutResult(status -> {
+                lease.fence();
+                throw new AssertionError("stale holder passed the fence");
+            });
+        }));
+        assertThat(stalled.await(10, TimeUnit.SECONDS)).isTrue();
+        expireLease();
+
+        AtomicReference<Long> newToken = new AtomicReference<>();
+        assertThat(b.runExclusively(task, lease -> transactionTemplate.executeWithoutResult(status -> {
+            lease.fence();
+            newToken.set(lease.getFencingToken());
+        }))).isTrue();
+        assertThat(newToken.get()).isGreaterThan(staleToken.get());
+
+        resume.countDown();
+        assertThat(stale.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executionOf("node-a").getStatus()).isEqualTo(TaskRunStatus.LEASE_LOST);
+        assertThat(executionOf("node-b").getStatus()).isEqualTo(TaskRunStatus.SUCCEEDED);
+    }
+
+    @Test
+    void takeoverWaitsForAFencedTransactionToFinish() throws Exception {
+        ClusterTaskCoordinator a = node("node-a", 1_000);
+        ClusterTaskCoordinator b = node("node-b");
+        CountDownLatch fenced = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        Future<Boolean> holder = threads.submit(() -> a.runExclusively(task,
+                lease -> transactionTemplate.executeWithoutResult(status -> {
+                    lease.fence();
+                    fenced.countDown();
+                    await(commit);
+                })));
+        assertThat(fenced.await(10, TimeUnit.SECONDS)).isTrue();
+        // The lease lapses while the holder is mid-transaction; its renewal is blocked by the fence too
+        Thread.sleep(1_500);
+
+        Future<Boolean> takeover = threads.submit(() -> b.runExclusively(task, lease -> { }));
+        assertThatThrownBy(() -> takeover.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        commit.countDown();
+        assertThat(holder.get(10, TimeUnit.SECONDS)).isTrue();
+        // Whether it won depends on whether the holder's queued renewal went first; it no longer waits either way
+        takeover.get(10, TimeUnit.SECONDS);
+        assertThat(b.runExclusively(task, lease -> { })).isTrue();
+    }
+
+    @Test
+    void fenceOutsideATransactionIsRejected() {
+        ClusterTaskCoordinator a = node("node-a");
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        a.runExclusively(task, lease -> {
+            try {
+                lease.fence();
+            } catch (IllegalStateException e) {
+                error.set(e);
+            }
+        });
+
+        assertThat(error.get()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void fenceAfterReleaseThrows() {
+        ClusterTaskCoordinator a = node("node-a");
+        AtomicReference<ClusterTaskCoordinator.Lease> held = new AtomicReference<>();
+        a.runExclusively(task, held::set);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> held.get().fence()))
+                .isInstanceOf(LeaseLostException.class);
+    }
+
+    private ClusterTaskCoordinator node(String nodeId) {
+        return node(nodeId, TTL_MS);
+    }
+
+    private ClusterTaskCoordinator node(String nodeId, long leaseTtlMs) {
+        ClusterTaskCoordinator node = new ClusterTaskCoordinator(jdbcTemplate, transactionTemplate, executionRepository);
+        ReflectionTestUtils.setField(node, "configuredNodeId", nodeId + "-" + task);
+        ReflectionTestUtils.setField(node, "leaseTtlMs", leaseTtlMs);
+        node.init();
+        nodes.add(node);
+        return node;
+    }
+
+    private void expireLease() {
+        jdbcTemplate.update("UPDATE scheduler_leases SET lease_until = LOCALTIMESTAMP - INTERVAL '1 second' "
+                + "WHERE task_name = ?", task);
+    }
+
+    private TaskExecution executionOf(String nodeId) {
+        return executionRepository.findAll().stream()
+                .filter(e -> e.getTaskName().equals(task) && e.getOwner().equals(nodeId + "-" + task))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new AssertionError("timed out waiting for the test to proceed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.dto.response.UploadTicketResponse;
+import com.fresherjobs.entity.StoredFile;
+import com.fresherjobs.enums.FileKind;
+import com.fresherjobs.enums.UploadStatus;
+import com.fresherjobs.repository.StoredFileRepository;
+import com.fresherjobs.repository.UploadTicketRepository;
+import com.fresherjobs.support.PostgresTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileUploadServiceTest extends PostgresTestSupport {
+
+    private static final Long USER_ID = 42L;
+
+    @Autowired
+    private FileUploadService fileUploadService;
+
+    @Autowired
+    private FileStorage fileStorage;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UploadStaging uploadStaging;
+
+    @Autowired
+    private UploadTicketRepository uploadTicketRepository;
+
+    @Autowired
+    private ClusterTaskCoordinator clusterTaskCoordinator;
+
+    @Autowired
+    private StorageKeyLeases storageKeyLeases;
+
+    private final List<FileUploadService> nodes = new ArrayList<>();
+
+    private final ExecutorService threads = Executors.newFixedThreadPool(4);
+    private final String email = "seeker-" + UUID.randomUUID() + "@example.com";
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        threads.shutdownNow();
+        for (FileUploadService node : nodes) {
+            node.stop();
+        }
+    }
+
+    @Test
+    void concurrentUploadsLeaveTheDigestOfTheStoredFile() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> uploads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            MockMultipartFile file = resume("version " + i);
+            uploads.add(threads.submit(() -> {
+                start.await(10, TimeUnit.SECONDS);
+                for (int round = 0; round < 5; round++) {
+                    fileUploadService.upload(file, FileKind.RESUME, USER_ID, email);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> upload : uploads) {
+            upload.get(60, TimeUnit.SECONDS);
+        }
+
+        StoredFile digest = storedFileRepository.findById(storageKey()).orElseThrow();
+        assertThat(sha256(storedPath())).isEqualTo(digest.getSha256());
+    }
+
+    @Test
+    void deleteInsideARolledBackTransactionKeepsTheFileAndItsDigest() throws Exception {
+        fileUploadService.upload(resume("keep me"), FileKind.RESUME, USER_ID, email);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            fileUploadService.delete(FileKind.RESUME, email);
+            status.setRollbackOnly();
+        });
+
+        assertThat(storedFileRepository.findById(storageKey())).isPresent();
+        assertThat(Files.exists(storedPath())).isTrue();
+    }
+
+    @Test
+    void deleteInsideACommittedTransactionRemovesTheFileAndItsDigest() throws Exception {
+        fileUploadService.upload(resume("delete me"), FileKind.RESUME, USER_ID, email);
+        Path stored = storedPath();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            fileUploadService.delete(FileKind.RESUME, email);
+            // Nothing is gone until the transaction commits
+            assertThat(Files.exists(stored)).isTrue();
+        });
+
+        assertThat(storedFileRepository.findById(storageKey())).isEmpty();
+        assertThat(Files.exists(stored)).isFalse();
+    }
+
+    @Test
+    void anOlderUploadThatReachesItsWorkerLateIsNotStored() throws Exception {
+        // Two nodes with one worker each; node A's worker is kept busy, so its older upload runs last
+        FileUploadService nodeA = node();
+        FileUploadService nodeB = node();
+        String blockerEmail = "blocker-" + UUID.randomUUID() + "@example.com";
+        StorageKeyLeases.Lease blocker = storageKeyLeases.acquire(
+                FileKind.RESUME.getFolder() + "/" + FileKind.RESUME.publicIdFor(blockerEmail));
+        nodeA.submit(resume("blocker"), FileKind.RESUME, USER_ID + 1, blockerEmail);
+
+        UploadTicketResponse older = nodeA.submit(resume("older"), FileKind.RESUME, USER_ID, email);
+        MockMultipartFile newerFile = resume("newer");
+        UploadTicketResponse newer = nodeB.submit(newerFile, FileKind.RESUME, USER_ID, email);
+        assertThat(awaitDone(newer.getTicketId()).getStatus()).isEqualTo(UploadStatus.COMPLETED);
+
+        blocker.close();
+        nodeA.stop();
+
+        UploadTicketResponse olderDone = fileUploadService.getTicket(older.getTicketId(), USER_ID);
+        assertThat(olderDone.getStatus()).isEqualTo(UploadStatus.FAILED);
+        assertThat(olderDone.getError()).isEqualTo("Replaced by a newer upload");
+        assertThat(Files.readAllBytes(storedPath())).isEqualTo(newerFile.getBytes());
+        assertThat(storedFileRepository.findById(storageKey()).orElseThrow().getSha256())
+                .isEqualTo(sha256(storedPath()));
+    }
+
+    private UploadTicketResponse awaitDone(String ticketId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        UploadTicketResponse ticket = fileUploadService.getTicket(ticketId, USER_ID);
+        while (ticket.getStatus() == UploadStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            ticket = fileUploadService.getTicket(ticketId, USER_ID);
+        }
+        return ticket;
+    }
+
+    @Test
+    void anUploadRejectedForAFullQueueLeavesTheEarlierOneAlive() throws Exception {
+        // One worker and one queue slot: the blocker runs, the older upload waits, the newer has no room
+        FileUploadService node = node(fileStorage, 1);
+        String blockerEmail = "blocker-" + UUID.randomUUID() + "@example.com";
+        StorageKeyLeases.Lease blocker = storageKeyLeases.acquire(
+                FileKind.RESUME.getFolder() + "/" + FileKind.RESUME.publicIdFor(blockerEmail));
+        node.submit(resume("blocker"), FileKind.RESUME, USER_ID + 1, blockerEmail);
+        MockMultipartFile olderFile = resume("older");
+        UploadTicketResponse older = node.submit(olderFile, FileKind.RESUME, USER_ID, email);
+
+        assertThatThrownBy(() -> node.submit(resume("newer"), FileKind.RESUME, USER_ID, email))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(fileUploadService.getTicket(older.getTicketId(), USER_ID).getStatus())
+                .isEqualTo(UploadStatus.PENDING);
+
+        blocker.close();
+        assertThat(awaitDone(older.getTicketId()).getStatus()).isEqualTo(UploadStatus.COMPLETED);
+        assertThat(Files.readAllBytes(storedPath())).isEqualTo(olderFile.getBytes());
+    }
+
+    @Test
+    void theTransferRunsWithNoTransactionOpen() {
+        RecordingFileStorage storage = new RecordingFileStorage(fileStorage);
+
+        node(storage).upload(resume("no transaction"), FileKind.RESUME, USER_ID, email);
+
+        assertThat(storage.stores).hasValue(1);
+        assertThat(storage.storedInTransaction).isFalse();
+        assertThat(storedFileRepository.findById(storageKey())).isPresent();
+    }
+
+    @Test
+    void anIdenticalReUploadDoesNotWriteTheBackendAgain() throws Exception {
+        RecordingFileStorage storage = new RecordingFileStorage(fileStorage);
+        FileUploadService node = node(storage);
+
+        String firstUrl = node.upload(resume("same bytes"), FileKind.RESUME, USER_ID, email);
+        FileTime written = Files.getLastModifiedTime(storedPath());
+        String secondUrl = node.upload(resume("same bytes"), FileKind.RESUME, USER_ID, email);
+
+        assertThat(storage.stores).hasValue(1);
+        assertThat(secondUrl).isEqualTo(firstUrl);
+        assertThat(Files.getLastModifiedTime(storedPath())).isEqualTo(written);
+    }
+
+    private FileUploadService node() {
+        return node(fileStorage);
+    }
+
+    private FileUploadService node(FileStorage storage) {
+        return node(storage, 10);
+    }
+
+    private FileUploadService node(FileStorage storage, int queueCapacity) {
+        FileUploadService node = new FileUploadService(storage, uploadStaging, uploadTicketRepository,
+                storedFileRepository, storageKeyLeases, clusterTaskCoordinator, transactionTemplate,
+                new SimpleMeterRegistry(), 1, queueCapacity);
+        ReflectionTestUtils.setField(node, "storageType", "local");
+        nodes.add(node);
+        return node;
+    }
+
+    private MockMultipartFile resume(String text) {
+        return new MockMultipartFile("file", "resume.pdf", "application/pdf",
+                ("%PDF-1.4\n" + text).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String storageKey() {
+        return FileKind.RESUME.getFolder() + "/" + FileKind.RESUME.publicIdFor(email);
+    }
+
+    private Path storedPath() {
+        return fileStorage.locate(FileKind.RESUME, FileKind.RESUME.publicIdFor(email) + ".pdf").orElseThrow();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new AssertionError("timed out waiting for the test to proceed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    // Counts the writes that reach the backend and notes whether any ran inside a transaction
+    private static class RecordingFileStorage implements FileStorage {
+
+        private final FileStorage delegate;
+        private final AtomicInteger stores = new AtomicInteger();
+        private volatile boolean storedInTransaction;
+
+        RecordingFileStorage(FileStorage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String store(Path source, String originalFilename, FileKind kind, String publicId) {
+            stores.incrementAndGet();
+            storedInTransaction |= TransactionSynchronizationManager.isActualTransactionActive();
+            return delegate.store(source, originalFilename, kind, publicId);
+        }
+
+        @Override
+        public void delete(FileKind kind, String publicId) {
+            delegate.delete(kind, publicId);
+        }
+    }
+
+    private static String sha256(Path file) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file)));
+    }
+}
@@ -0,0 +1,155 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.enums.ImageVariant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageVariantServiceTest {
+
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void variantEvictedWhileOpenIsStillServedWhole() throws Exception {
+        // Room for one variant only, so rendering the second evicts the first
+        ImageVariantService service = service(1);
+        Path first = source("first.jpg", Color.RED);
+        Path second = source("second.jpg", Color.BLUE);
+
+        try (ImageVariantService.OpenVariant open = service.open(first, ImageVariant.THUMB)) {
+            service.open(second, ImageVariant.THUMB).close();
+
+            assertThat(Files.exists(open.path())).isFalse();
+            assertThat(centerColor(readAll(open))).isEqualTo(Color.RED.getRGB());
+        }
+    }
+
+    @Test
+    void variantReRenderedWhileOpenIsStillServedWhole() throws Exception {
+        ImageVariantService service = service(NO_LIMIT);
+        Path source = source("photo.jpg", Color.RED);
+
+        try (ImageVariantService.OpenVariant open = service.open(source, ImageVariant.THUMB)) {
+            // A re-upload replaces the source, and the next request renders over the same variant path
+            write(source, Color.BLUE);
+            Files.setLastModifiedTime(source, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+            try (ImageVariantService.OpenVariant fresh = service.open(source, ImageVariant.THUMB)) {
+                assertThat(fresh.path()).isEqualTo(open.path());
+                assertThat(centerColor(readAll(fresh))).isEqualTo(Color.BLUE.getRGB());
+            }
+
+            assertThat(centerColor(readAll(open))).isEqualTo(Color.RED.getRGB());
+        }
+    }
+
+    @Test
+    void restartReusesVariantsRenderedBefore() throws Exception {
+        Path source = source("photo.jpg", Color.RED);
+        Path rendered;
+        try (ImageVariantService.OpenVariant open = service(NO_LIMIT).open(source, ImageVariant.THUMB)) {
+            rendered = open.path();
+        }
+        FileTime renderedAt = FileTime.fromMillis(System.currentTimeMillis() - 1_000);
+        Files.setLastModifiedTime(rendered, renderedAt);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(renderedAt.toMillis() - 60_000));
+
+        try (ImageVariantService.OpenVariant open = service(NO_LIMIT).open(source, ImageVariant.THUMB)) {
+            assertThat(open.path()).isEqualTo(rendered);
+            assertThat(Files.getLastModifiedTime(rendered)).isEqualTo(renderedAt);
+        }
+    }
+
+    @Test
+    void restartReRendersVariantsOlderThanTheirSource() throws Exception {
+        Path source = source("photo.jpg", Color.RED);
+        Path rendered;
+        try (ImageVariantService.OpenVariant open = service(NO_LIMIT).open(source, ImageVariant.THUMB)) {
+            rendered = open.path();
+        }
+        Files.setLastModifiedTime(rendered, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        write(source, Color.BLUE);
+
+        try (ImageVariantService.OpenVariant open = service(NO_LIMIT).open(source, ImageVariant.THUMB)) {
+            assertThat(centerColor(readAll(open))).isEqualTo(Color.BLUE.getRGB());
+        }
+    }
+
+    @Test
+    void restartEvictsOverBudgetAndDropsLeftoverRenders() throws Exception {
+        ImageVariantService before = service(NO_LIMIT);
+        Path older = render(before, source("older.jpg", Color.RED));
+        Path newer = render(before, source("newer.jpg", Color.BLUE));
+        Files.setLastModifiedTime(older, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        Path leftover = Files.createFile(older.resolveSibling("render-123.part"));
+
+        service(Files.size(newer));
+
+        assertThat(older).doesNotExist();
+        assertThat(newer).exists();
+        assertThat(leftover).doesNotExist();
+    }
+
+    private static Path render(ImageVariantService service, Path source) throws IOException {
+        try (ImageVariantService.OpenVariant open = service.open(source, ImageVariant.THUMB)) {
+            return open.path();
+        }
+    }
+
+    private ImageVariantService service(long maxCacheBytes) {
+        return new ImageVariantService(temp.resolve("variants").toString(), maxCacheBytes, 40_000_000, 2);
+    }
+
+    private Path source(String name, Color color) throws IOException {
+        Path file = temp.resolve(name);
+        write(file, color);
+        return file;
+    }
+
+    private static void write(Path file, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, 400, 300);
+        g.dispose();
+        ImageIO.write(image, "png", file.toFile());
+    }
+
+    private static byte[] readAll(ImageVariantService.OpenVariant open) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) open.channel().size());
+        long position = 0;
+        while (buffer.hasRemaining()) {
+            int read = open.channel().read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+        return buffer.array();
+    }
+
+    // JPEG is lossy, so colors are compared after snapping each channel to 0 or 255
+    private static int centerColor(byte[] image) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(image));
+        Color c = new Color(decoded.getRGB(decoded.getWidth() / 2, decoded.getHeight() / 2));
+        return new Color(snap(c.getRed()), snap(c.getGreen()), snap(c.getBlue())).getRGB();
+    }
+
+    private static int snap(int channel) {
+        return channel < 128 ? 0 : 255;
+    }
+}
@@ -0,0 +1,137 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.entity.Company;
+import com.fresherjobs.entity.Job;
+import com.fresherjobs.entity.User;
+import com.fresherjobs.enums.JobType;
+import com.fresherjobs.enums.Role;
+import com.fresherjobs.repository.CompanyRepository;
+import com.fresherjobs.repository.JobRepository;
+import com.fresherjobs.repository.UserRepository;
+import com.fresherjobs.support.PostgresTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Another replica is stood in for by sending its notifications straight to the channel:
+ * the job rows are written behind this node's back, as another node's writes would be.
+ */
+class JobChangeRelayTest extends PostgresTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private ClusterTaskCoordinator clusterTaskCoordinator;
+
+    @Test
+    void jobWrittenOnAnotherNodeShowsUpInTheSearchIndex() throws Exception {
+        String term = uniqueTerm();
+        Job job = saveJob(term);
+        assertThat(jobSearchIndex.search(term, 10)).isEmpty();
+
+        notifyFrom("other-node", "UPSERTED", job.getId());
+
+        awaitTrue(() -> !jobSearchIndex.search(term, 10).isEmpty());
+        assertThat(jobSearchIndex.search(term, 10)).extracting("id").containsExactly(job.getId());
+    }
+
+    @Test
+    void jobRemovedOnAnotherNodeLeavesTheSearchIndex() throws Exception {
+        String term = uniqueTerm();
+        Job job = saveJob(term);
+        notifyFrom("other-node", "UPSERTED", job.getId());
+        awaitTrue(() -> !jobSearchIndex.search(term, 10).isEmpty());
+
+        jobRepository.deleteById(job.getId());
+        notifyFrom("other-node", "REMOVED", job.getId());
+
+        awaitTrue(() -> jobSearchIndex.search(term, 10).isEmpty());
+    }
+
+    @Test
+    void upsertOfAJobThatIsGoneByThenIsTreatedAsARemoval() throws Exception {
+        String term = uniqueTerm();
+        Job job = saveJob(term);
+        notifyFrom("other-node", "UPSERTED", job.getId());
+        awaitTrue(() -> !jobSearchIndex.search(term, 10).isEmpty());
+
+        jobRepository.deleteById(job.getId());
+        notifyFrom("other-node", "UPSERTED", job.getId());
+
+        awaitTrue(() -> jobSearchIndex.search(term, 10).isEmpty());
+    }
+
+    @Test
+    void ownNotificationsAreIgnored() throws Exception {
+        String term = uniqueTerm();
+        Job job = saveJob(term);
+
+        notifyFrom(clusterTaskCoordinator.getNodeId(), "UPSERTED", job.getId());
+        // A later notification from elsewhere proves the earlier one was already handled
+        String marker = uniqueTerm();
+        Job other = saveJob(marker);
+        notifyFrom("other-node", "UPSERTED", other.getId());
+        awaitTrue(() -> !jobSearchIndex.search(marker, 10).isEmpty());
+
+        assertThat(jobSearchIndex.search(term, 10)).isEmpty();
+    }
+
+    private Job saveJob(String term) {
+        String suffix = UUID.randomUUID().toString();
+        User recruiter = userRepository.save(User.builder()
+                .name("Recruiter")
+                .email("recruiter-" + suffix + "@example.com")
+                .password("x")
+                .role(Role.RECRUITER)
+                .isApproved(true)
+                .build());
+        Company company = companyRepository.save(Company.builder()
+                .user(recruiter)
+                .companyName("Acme " + suffix)
+                .build());
+        return jobRepository.save(Job.builder()
+                .company(company)
+                .title("Java Developer " + term)
+                .description("Building services")
+                .jobType(JobType.FULL_TIME)
+                .experienceRequired(0)
+                .build());
+    }
+
+    private void notifyFrom(String nodeId, String type, Long jobId) {
+        jdbcTemplate.queryForList("SELECT pg_notify('job_changes', ?)", nodeId + "|" + type + "|" + jobId);
+    }
+
+    private static String uniqueTerm() {
+        return "zq" + UUID.randomUUID().toString().replace("-", "").replaceAll("[0-9]", "");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("condition not met within 10s");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.entity.Company;
+import com.fresherjobs.entity.Job;
+import com.fresherjobs.entity.User;
+import com.fresherjobs.enums.JobType;
+import com.fresherjobs.enums.Role;
+import com.fresherjobs.repository.CompanyRepository;
+import com.fresherjobs.repository.JobRepository;
+import com.fresherjobs.repository.UserRepository;
+import com.fresherjobs.support.PostgresTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replicas racing to apply the same scheduled transitions, as they do when all of them wake
+ * for the same due entries: every job must be claimed by exactly one caller.
+ */
+class JobTransitionClaimTest extends PostgresTestSupport {
+
+    private static final int JOBS = 50;
+    private static final int REPLICAS = 4;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final ExecutorService threads = Executors.newFixedThreadPool(REPLICAS);
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void eachExpiredJobIsClaimedOnce() throws Exception {
+        Company company = company();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            ids.add(jobRepository.save(job(company)
+                    .expiresAt(LocalDate.now().minusDays(1))
+                    .build()).getId());
+        }
+
+        List<Long> claimed = race(replica -> jobService.expireJobs(ids));
+
+        assertThat(claimed).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(jobRepository.findAllById(ids)).allMatch(job -> !job.getIsActive());
+    }
+
+    @Test
+    void eachDueJobIsPublishedOnce() throws Exception {
+        Company company = company();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            ids.add(jobRepository.save(job(company)
+                    .isActive(false)
+                    .publishAt(LocalDateTime.now().minusMinutes(1))
+                    .build()).getId());
+        }
+
+        List<Long> claimed = race(replica -> jobService.publishScheduledJobs(ids));
+
+        assertThat(claimed).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(jobRepository.findAllById(ids)).allMatch(job -> job.getIsActive() && job.getPublishAt() == null);
+    }
+
+    @Test
+    void dueJobThatExpiredMeanwhileOnlyLosesItsSchedule() {
+        Job job = jobRepository.save(job(company())
+                .isActive(false)
+                .publishAt(LocalDateTime.now().minusDays(3))
+                .expiresAt(LocalDate.now().minusDays(1))
+                .build());
+
+        assertThat(jobService.publishScheduledJobs(List.of(job.getId()))).containsExactly(job.getId());
+
+        Job after = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(after.getIsActive()).isFalse();
+        assertThat(after.getPublishAt()).isNull();
+    }
+
+    @Test
+    void jobsNotYetDueAreLeftAlone() {
+        Company company = company();
+        Job live = jobRepository.save(job(company).expiresAt(LocalDate.now()).build());
+        Job waiting = jobRepository.save(job(company)
+                .isActive(false)
+                .publishAt(LocalDateTime.now().plusHours(1))
+                .build());
+
+        assertThat(jobService.expireJobs(List.of(live.getId(), waiting.getId()))).isEmpty();
+        assertThat(jobService.publishScheduledJobs(List.of(live.getId(), waiting.getId()))).isEmpty();
+    }
+
+    private List<Long> race(Function<Integer, List<Long>> transition) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        for (int i = 0; i < REPLICAS; i++) {
+            int replica = i;
+            Callable<List<Long>> call = () -> {
+                start.await(10, TimeUnit.SECONDS);
+                return transition.apply(replica);
+            };
+            results.add(threads.submit(call));
+        }
+        start.countDown();
+        List<Long> claimed = new ArrayList<>();
+        for (Future<List<Long>> result : results) {
+            claimed.addAll(result.get(30, TimeUnit.SECONDS));
+        }
+        return claimed;
+    }
+
+    private Company company() {
+        String suffix = UUID.randomUUID().toString();
+        User recruiter = userRepository.save(User.builder()
+                .name("Recruiter")
+                .email("recruiter-" + suffix + "@example.com")
+                .password("x")
+                .role(Role.RECRUITER)
+                .isApproved(true)
+                .build());
+        return companyRepository.save(Company.builder()
+                .user(recruiter)
+                .companyName("Acme " + suffix)
+                .build());
+    }
+
+    private static Job.JobBuilder job(Company company) {
+        return Job.builder()
+                .company(company)
+                .title("Java Developer")
+                .description("Building services")
+                .jobType(JobType.FULL_TIME)
+                .experienceRequired(0);
+    }
+}
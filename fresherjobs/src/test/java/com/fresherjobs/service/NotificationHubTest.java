@@ -0,0 +1,173 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.dto.response.NotificationResponse;
+import com.fresherjobs.event.NotificationsCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class NotificationHubTest {
+
+    private static final int MAX_PENDING = 3;
+
+    private final NotificationHub hub = new NotificationHub(mock(NotificationService.class), new SimpleMeterRegistry(),
+            2, 100, MAX_PENDING);
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        hub.stop();
+    }
+
+    @Test
+    void heartbeatDoesNotWaitForAClientThatStoppedReading() throws Exception {
+        BlockingEmitter stuck = new BlockingEmitter(unblock);
+        CountingEmitter healthy = new CountingEmitter();
+        register(1L, stuck);
+        register(2L, healthy);
+
+        long started = System.nanoTime();
+        hub.heartbeat();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1_000);
+
+        assertThat(stuck.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitSends(healthy, 1);
+    }
+
+    @Test
+    void streamStillStuckAtTheNextHeartbeatIsDropped() throws Exception {
+        BlockingEmitter stuck = new BlockingEmitter(unblock);
+        CountingEmitter healthy = new CountingEmitter();
+        register(1L, stuck);
+        register(1L, healthy);
+
+        hub.heartbeat();
+        assertThat(stuck.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitSends(healthy, 1);
+        hub.heartbeat();
+
+        assertThat(subscribers().get(1L)).containsExactly(healthy);
+        awaitSends(healthy, 2);
+    }
+
+    @Test
+    void streamWhoseWriteFailsIsDropped() throws Exception {
+        register(1L, new FailingEmitter());
+
+        hub.heartbeat();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (subscribers().containsKey(1L) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(subscribers()).doesNotContainKey(1L);
+    }
+
+    @Test
+    void publishingDoesNotWaitForAClientThatStoppedReading() throws Exception {
+        BlockingEmitter stuck = new BlockingEmitter(unblock);
+        CountingEmitter healthy = new CountingEmitter();
+        register(1L, stuck);
+        register(2L, healthy);
+
+        long started = System.nanoTime();
+        hub.onNotificationsCreated(created(1L, 10L, 2L, 11L));
+        hub.onNotificationsCreated(created(1L, 12L, 2L, 13L));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1_000);
+
+        assertThat(stuck.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitSends(healthy, 2);
+    }
+
+    @Test
+    void streamThatFallsBehindIsDropped() throws Exception {
+        BlockingEmitter stuck = new BlockingEmitter(unblock);
+        register(1L, stuck);
+
+        hub.onNotificationsCreated(created(1L, 1L));
+        assertThat(stuck.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long id = 2; id <= MAX_PENDING + 2; id++) {
+            hub.onNotificationsCreated(created(1L, id));
+        }
+
+        assertThat(subscribers()).doesNotContainKey(1L);
+    }
+
+    // Pairs of user id and notification id
+    private static NotificationsCreatedEvent created(Long... userAndNotificationIds) {
+        List<NotificationsCreatedEvent.Created> created = new ArrayList<>();
+        for (int i = 0; i < userAndNotificationIds.length; i += 2) {
+            created.add(new NotificationsCreatedEvent.Created(userAndNotificationIds[i],
+                    NotificationResponse.builder().id(userAndNotificationIds[i + 1]).build()));
+        }
+        return new NotificationsCreatedEvent(created);
+    }
+
+    private void register(Long userId, SseEmitter emitter) {
+        subscribers().computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<SseEmitter>> subscribers() {
+        return (Map<Long, List<SseEmitter>>) ReflectionTestUtils.getField(hub, "subscribers");
+    }
+
+    private static void awaitSends(CountingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (emitter.sends.get() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(emitter.sends.get()).isGreaterThanOrEqualTo(count);
+    }
+
+    // Stands in for a client whose socket buffer is full: the write never returns
+    private static class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch unblock;
+
+        BlockingEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                throw new IOException("write interrupted", e);
+            }
+        }
+    }
+
+    private static class CountingEmitter extends SseEmitter {
+        private final AtomicInteger sends = new AtomicInteger();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sends.incrementAndGet();
+        }
+    }
+
+    private static class FailingEmitter extends SseEmitter {
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+    }
+}
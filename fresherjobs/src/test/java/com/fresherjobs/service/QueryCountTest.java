@@ -0,0 +1,191 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.dto.request.ApplicantFilterRequest;
+import com.fresherjobs.dto.request.JobFilterRequest;
+import com.fresherjobs.entity.Application;
+import com.fresherjobs.entity.Company;
+import com.fresherjobs.entity.FresherProfile;
+import com.fresherjobs.entity.Job;
+import com.fresherjobs.entity.JobCategory;
+import com.fresherjobs.entity.User;
+import com.fresherjobs.enums.JobType;
+import com.fresherjobs.enums.Role;
+import com.fresherjobs.repository.ApplicationRepository;
+import com.fresherjobs.repository.CompanyRepository;
+import com.fresherjobs.repository.FresherProfileRepository;
+import com.fresherjobs.repository.JobCategoryRepository;
+import com.fresherjobs.repository.JobRepository;
+import com.fresherjobs.repository.UserRepository;
+import com.fresherjobs.support.PostgresTestSupport;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing and applicant paths must not issue per-row lazy loads: the number of SQL
+ * statements stays the same whether a page holds one row or many. Each call runs in a
+ * read-only transaction, so a missing fetch shows up as extra queries rather than as a
+ * LazyInitializationException.
+ */
+class QueryCountTest extends PostgresTestSupport {
+
+    private static final int MORE_ROWS = 9;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JobCategoryRepository jobCategoryRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private FresherProfileRepository profileRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void jobListingsRunAConstantNumberOfQueries() {
+        Company company = company();
+        saveJob(company);
+        long allActive = queriesFor(() -> jobService.getAllActiveJobs());
+        long page = queriesFor(() -> jobService.getActiveJobsPage(new JobFilterRequest(), null, 50));
+        long mine = queriesFor(() -> jobService.getMyJobs(company.getUser().getId()));
+
+        for (int i = 0; i < MORE_ROWS; i++) {
+            // A company and category per job, so any lazy association would cost one query per row
+            saveJob(company());
+            saveJob(company);
+        }
+
+        assertThat(queriesFor(() -> jobService.getAllActiveJobs())).isEqualTo(allActive).isEqualTo(1);
+        assertThat(queriesFor(() -> jobService.getActiveJobsPage(new JobFilterRequest(), null, 50)))
+                .isEqualTo(page).isEqualTo(1);
+        assertThat(queriesFor(() -> jobService.getMyJobs(company.getUser().getId()))).isEqualTo(mine).isEqualTo(1);
+    }
+
+    @Test
+    void jobDetailRunsASingleQuery() {
+        Job job = saveJob(company());
+
+        assertThat(queriesFor(() -> jobService.getJobById(job.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    void applicantPathsRunAConstantNumberOfQueries() {
+        Company company = company();
+        Job job = saveJob(company);
+        Long recruiterId = company.getUser().getId();
+        User seeker = seeker();
+        apply(seeker, job);
+
+        long applicants = queriesFor(() -> applicationService.getApplicantsForJob(job.getId(), recruiterId));
+        long ranked = queriesFor(() -> applicationService.getRankedApplicants(job.getId(),
+                new ApplicantFilterRequest(), 0, 50, recruiterId));
+        long mine = queriesFor(() -> applicationService.getMyApplications(seeker.getId()));
+
+        for (int i = 0; i < MORE_ROWS; i++) {
+            apply(seeker(), job);
+            apply(seeker, saveJob(company()));
+        }
+
+        assertThat(queriesFor(() -> applicationService.getApplicantsForJob(job.getId(), recruiterId)))
+                .isEqualTo(applicants);
+        assertThat(queriesFor(() -> applicationService.getRankedApplicants(job.getId(),
+                new ApplicantFilterRequest(), 0, 50, recruiterId))).isEqualTo(ranked);
+        assertThat(queriesFor(() -> applicationService.getMyApplications(seeker.getId()))).isEqualTo(mine);
+    }
+
+    private long queriesFor(Runnable call) {
+        statistics.clear();
+        readOnly.executeWithoutResult(status -> call.run());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Company company() {
+        User recruiter = user(Role.RECRUITER);
+        return companyRepository.save(Company.builder()
+                .user(recruiter)
+                .companyName("Acme " + recruiter.getId())
+                .build());
+    }
+
+    private Job saveJob(Company company) {
+        JobCategory category = jobCategoryRepository.save(JobCategory.builder()
+                .catName("Category " + UUID.randomUUID())
+                .build());
+        return jobRepository.save(Job.builder()
+                .company(company)
+                .category(category)
+                .title("Java Developer")
+                .description("Building services")
+                .skillsRequired("java, spring")
+                .jobType(JobType.FULL_TIME)
+                .experienceRequired(0)
+                .build());
+    }
+
+    private User seeker() {
+        User seeker = user(Role.JOB_SEEKER);
+        profileRepository.save(FresherProfile.builder()
+                .user(seeker)
+                .skills("java")
+                .cgpa(8.0)
+                .build());
+        return seeker;
+    }
+
+    private void apply(User seeker, Job job) {
+        applicationRepository.save(Application.builder()
+                .user(seeker)
+                .job(job)
+                .coverLetter("Hello")
+                .build());
+    }
+
+    private User user(Role role) {
+        return userRepository.save(User.builder()
+                .name(role.name())
+                .email(role.name().toLowerCase() + "-" + UUID.randomUUID() + "@example.com")
+                .password("x")
+                .role(role)
+                .isApproved(true)
+                .build());
+    }
+}
@@ -0,0 +1,153 @@
+package com.fresherjobs.service;
+
+import com.fresherjobs.entity.Company;
+import com.fresherjobs.entity.Job;
+import com.fresherjobs.entity.Skill;
+import com.fresherjobs.entity.User;
+import com.fresherjobs.enums.JobType;
+import com.fresherjobs.enums.Role;
+import com.fresherjobs.repository.CompanyRepository;
+import com.fresherjobs.repository.FresherProfileRepository;
+import com.fresherjobs.repository.JobRepository;
+import com.fresherjobs.repository.UserRepository;
+import com.fresherjobs.support.PostgresTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SkillDictionaryTest extends PostgresTestSupport {
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private FresherProfileRepository profileRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void aliasTargetsAreKnownFromTheStart() {
+        long[] bits = SkillDictionary.words(skillDictionary.encode("ReactJS, Node JS / Java"));
+
+        assertThat(SkillDictionary.count(bits)).isEqualTo(3);
+    }
+
+    @Test
+    void encodingFreeTextNeitherGrowsTheTableNorBurnsIds() {
+        long skills = skillCount();
+        long sequence = sequenceValue();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            skillDictionary.encode("java, " + uniqueSkill() + ", " + uniqueSkill());
+            status.setRollbackOnly();
+        });
+        byte[] bits = skillDictionary.encode("java, " + uniqueSkill());
+
+        assertThat(SkillDictionary.count(SkillDictionary.words(bits))).isEqualTo(1);
+        assertThat(skillCount()).isEqualTo(skills);
+        assertThat(sequenceValue()).isEqualTo(sequence);
+    }
+
+    @Test
+    void addedSkillIsEncodedAndBackfilledIntoExistingRows() {
+        String skill = uniqueSkill();
+        Job job = saveJob("java, " + skill);
+        assertThat(SkillDictionary.count(SkillDictionary.words(job.getSkillBits()))).isEqualTo(1);
+
+        Skill added = skillDictionary.add(skill);
+
+        long[] reencoded = SkillDictionary.words(jobRepository.findById(job.getId()).orElseThrow().getSkillBits());
+        assertThat(SkillDictionary.count(reencoded)).isEqualTo(2);
+        assertThat(SkillDictionary.words(skillDictionary.encode(skill))).isNotEmpty();
+        assertThat(skillDictionary.add(skill.toUpperCase()).getId()).isEqualTo(added.getId());
+    }
+
+    @Test
+    void addingAnAliasResolvesToItsCanonicalSkill() {
+        Skill skill = skillDictionary.add("ReactJS");
+
+        assertThat(skill.getName()).isEqualTo("react");
+    }
+
+    @Test
+    void addInsideATransactionIsRejected() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> skillDictionary.add(uniqueSkill())))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void listsAndOverlongNamesAreRejected() {
+        assertThatThrownBy(() -> skillDictionary.add("docker, kubernetes"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> skillDictionary.add("x".repeat(61)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fullDictionaryRejectsNewSkills() {
+        SkillDictionary full = new SkillDictionary(jdbcTemplate, jobRepository, profileRepository,
+                transactionManager, (int) skillCount());
+
+        assertThatThrownBy(() -> full.add(uniqueSkill())).isInstanceOf(IllegalStateException.class);
+    }
+
+    private Job saveJob(String skills) {
+        String suffix = UUID.randomUUID().toString();
+        User recruiter = userRepository.save(User.builder()
+                .name("Recruiter")
+                .email("recruiter-" + suffix + "@example.com")
+                .password("x")
+                .role(Role.RECRUITER)
+                .isApproved(true)
+                .build());
+        Company company = companyRepository.save(Company.builder()
+                .user(recruiter)
+                .companyName("Acme " + suffix)
+                .build());
+        return jobRepository.save(Job.builder()
+                .company(company)
+                .title("Developer")
+                .description("Building services")
+                .skillsRequired(skills)
+                .skillBits(skillDictionary.encode(skills))
+                .jobType(JobType.FULL_TIME)
+                .experienceRequired(0)
+                .build());
+    }
+
+    private long skillCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM skills", Long.class);
+    }
+
+    private long sequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT last_value FROM " + jdbcTemplate.queryForObject(
+                "SELECT pg_get_serial_sequence('skills', 'id')", String.class), Long.class);
+    }
+
+    private static String uniqueSkill() {
+        return "skill" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,165 @@
+package com.fresherjobs.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Staging many large uploads at once must not pull them onto the heap. Parts are spooled
+ * to disk first, as the container does, and the bytes each staging thread allocates are
+ * counted directly, which unlike heap usage does not depend on when GC runs.
+ */
+class UploadStagingTest {
+
+    private static final int UPLOADS = 100;
+    private static final int FILE_BYTES = 10 * 1024 * 1024;
+    private static final int BUFFER_BYTES = 65536;
+
+    @TempDir
+    Path temp;
+
+    private final ExecutorService threads = Executors.newFixedThreadPool(16);
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void concurrentTenMegabyteUploadsStayOffTheHeap() throws Exception {
+        Path spool = Files.createDirectories(temp.resolve("spool"));
+        UploadStaging staging = new UploadStaging(BUFFER_BYTES, temp.resolve("staging").toString());
+        byte[] content = new byte[FILE_BYTES];
+        new Random(42).nextBytes(content);
+        String expectedSha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        List<SpooledMultipartFile> parts = new ArrayList<>();
+        for (int i = 0; i < UPLOADS; i++) {
+            Path part = spool.resolve("part-" + i);
+            Files.write(part, content);
+            parts.add(new SpooledMultipartFile(part));
+        }
+        content = null;
+
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<Future<Long>> results = new ArrayList<>();
+        for (SpooledMultipartFile part : parts) {
+            results.add(threads.submit(() -> {
+                long before = threadBean.getCurrentThreadAllocatedBytes();
+                UploadStaging.StagedUpload staged = staging.stage(part);
+                long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+                assertThat(staged.size()).isEqualTo(FILE_BYTES);
+                assertThat(staged.sha256()).isEqualTo(expectedSha256);
+                assertThat(Files.size(staged.path())).isEqualTo(FILE_BYTES);
+                staging.discard(staged.path());
+                return allocated;
+            }));
+        }
+        long allocated = 0;
+        for (Future<Long> result : results) {
+            allocated += result.get(120, TimeUnit.SECONDS);
+        }
+
+        // Buffering an upload in memory would allocate its 10 MB at least once; this is one read buffer plus change
+        assertThat(allocated / UPLOADS).isLessThan(4L * BUFFER_BYTES);
+        // Renamed into staging rather than copied, as Part.write does for a spooled part
+        assertThat(parts).allMatch(part -> !Files.exists(part.spooled));
+    }
+
+    @Test
+    void failedTransferLeavesNothingStaged() throws Exception {
+        UploadStaging staging = new UploadStaging(BUFFER_BYTES, temp.resolve("staging").toString());
+
+        try {
+            staging.stage(new SpooledMultipartFile(temp.resolve("missing")));
+        } catch (IOException expected) {
+            // The part vanished before it was moved
+        }
+
+        try (var staged = Files.list(temp.resolve("staging"))) {
+            assertThat(staged).isEmpty();
+        }
+    }
+
+    // A part the container spooled to disk: Part.write renames it, reads stream it from the spool file
+    private static class SpooledMultipartFile implements MultipartFile {
+        private final Path spooled;
+
+        SpooledMultipartFile(Path spooled) {
+            this.spooled = spooled;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "resume.pdf";
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/pdf";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(spooled);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public byte[] getBytes() {
+            throw new AssertionError("the upload was read into memory");
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(spooled);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.move(spooled, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        @Override
+        public void transferTo(Path dest) throws IOException {
+            // What StandardMultipartFile does for a Path: a buffered stream copy
+            try (InputStream in = getInputStream(); OutputStream out = Files.newOutputStream(dest)) {
+                in.transferTo(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fresherjobs.support;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Closes each test class's Spring context once the whole test run is over, while the JVM
+ * is still up. Left to JVM shutdown, the context would close concurrently with the hook
+ * embedded PostgreSQL registers for itself, and create-drop would wait on a stopped server.
+ */
+public class CloseContextAfterAllTestsExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(CloseContextAfterAllTestsExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        ConfigurableApplicationContext applicationContext =
+                (ConfigurableApplicationContext) SpringExtension.getApplicationContext(context);
+        // The root store is closed when the run ends; one entry per context however many classes share it
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(applicationContext,
+                key -> (ExtensionContext.Store.CloseableResource) applicationContext::close,
+                ExtensionContext.Store.CloseableResource.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.fresherjobs.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Starts an embedded PostgreSQL for a test context and registers it as a bean that the
+ * datasource depends on. Closing the context then tears down everything that uses the
+ * database first (create-drop, the job change relay, the pool) and stops the server last.
+ */
+public class EmbeddedPostgresInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static final String BEAN_NAME = "embeddedPostgres";
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        EmbeddedPostgres postgres;
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        TestPropertyValues.of(
+                "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "spring.datasource.username=postgres",
+                "spring.datasource.password=postgres"
+        ).applyTo(context);
+
+        BeanDefinitionRegistry registry = (BeanDefinitionRegistry) context.getBeanFactory();
+        registry.registerBeanDefinition(BEAN_NAME, BeanDefinitionBuilder
+                .genericBeanDefinition(EmbeddedPostgres.class, () -> postgres)
+                .setDestroyMethodName("close")
+                .getBeanDefinition());
+        context.addBeanFactoryPostProcessor(beanFactory -> {
+            BeanDefinition dataSource = beanFactory.getBeanDefinition("dataSource");
+            String[] dependsOn = dataSource.getDependsOn();
+            dataSource.setDependsOn(dependsOn == null ? new String[]{BEAN_NAME}
+                    : StringUtils.addStringToArray(dependsOn, BEAN_NAME));
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package com.fresherjobs.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Boots the application against a real PostgreSQL: the code relies on ON CONFLICT,
+ * RETURNING, SKIP LOCKED and row locks, which no in-memory database emulates faithfully.
+ * The embedded server belongs to the test context, which every test class shares; the
+ * context is closed when the test run ends and the server stops after it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+@ExtendWith(CloseContextAfterAllTestsExtension.class)
+public abstract class PostgresTestSupport {
+}
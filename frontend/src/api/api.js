@@ -68,6 +68,8 @@ export const authAPI = {
 // ============ Jobs API ============
 export const jobsAPI = {
     getAll: () => api.get('/jobs'),
+    getFeed: (params) => api.get('/jobs/feed', { params }),
+    getRecommended: (params) => api.get('/jobs/recommended', { params }),
     getById: (id) => api.get(`/jobs/${id}`),
     create: (data) => api.post('/jobs', data),
     update: (id, data) => api.put(`/jobs/${id}`, data),
@@ -80,6 +82,7 @@ export const applicationsAPI = {
     apply: (jobId, data) => api.post(`/applications/${jobId}/apply`, data),
     getMyApplications: () => api.get('/applications/my'),
     getApplicantsForJob: (jobId) => api.get(`/applications/job/${jobId}`),
+    getRankedApplicants: (jobId, params) => api.get(`/applications/job/${jobId}/ranked`, { params }),
     updateStatus: (id, status) => api.put(`/applications/${id}/status?status=${status}`),
 };
 
@@ -98,21 +101,45 @@ export const adminAPI = {
 };
 
 // ============ File Upload API ============
+// Uploads run in async mode: the server answers with a ticket at once and the
+// transfer to storage finishes in the background, so we poll until it is done.
+const UPLOAD_POLL_MS = 500;
+const UPLOAD_TIMEOUT_MS = 120000;
+
+const uploadAndWait = async (type, file) => {
+    const formData = new FormData();
+    formData.append('file', file);
+    const { data: ticket } = await api.post(`/files/upload/${type}?async=true`, formData, {
+        headers: { 'Content-Type': 'multipart/form-data' },
+    });
+    const deadline = Date.now() + UPLOAD_TIMEOUT_MS;
+    let current = ticket;
+    while (current.status === 'PENDING') {
+        if (Date.now() > deadline) throw new Error('Upload is taking too long, please try again');
+        await new Promise((resolve) => setTimeout(resolve, UPLOAD_POLL_MS));
+        current = (await api.get(`/files/uploads/${ticket.ticketId}`)).data;
+    }
+    if (current.status === 'FAILED') throw new Error(current.error || `Failed to upload ${type}`);
+    // Same shape as the synchronous endpoints
+    return { data: { url: current.url, filename: current.filename || type } };
+};
+
 export const filesAPI = {
-    uploadResume: (file) => {
-        const formData = new FormData();
-        formData.append('file', file);
-        return api.post('/files/upload/resume', formData, {
-            headers: { 'Content-Type': 'multipart/form-data' },
-        });
-    },
-    uploadPhoto: (file) => {
-        const formData = new FormData();
-        formData.append('file', file);
-        return api.post('/files/upload/photo', formData, {
-            headers: { 'Content-Type': 'multipart/form-data' },
-        });
-    },
+    uploadResume: (file) => uploadAndWait('resume', file),
+    uploadPhoto: (file) => uploadAndWait('photo', file),
+    getUpload: (ticketId) => api.get(`/files/uploads/${ticketId}`),
+};
+
+// ============ Notifications API ============
+export const notificationsAPI = {
+    getFeed: (params) => api.get('/notifications', { params }),
+    getUnreadCount: () => api.get('/notifications/unread-count'),
+    markRead: (ids) => api.put('/notifications/read', { ids }),
+    markAllRead: () => api.put('/notifications/read-all'),
+    // EventSource cannot send headers, so the token goes in the query string
+    openStream: () => new EventSource(
+        `${API_BASE_URL}/notifications/stream?access_token=${encodeURIComponent(localStorage.getItem('token') || '')}`
+    ),
 };
 
 // ============ User API ============
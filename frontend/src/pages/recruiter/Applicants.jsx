@@ -80,7 +80,7 @@ const Applicants = () => {
                                 <div className="applicant-top-row" onClick={() => toggleExpand(app.id)} style={{ cursor: 'pointer' }}>
                                     <div className="applicant-info">
                                         <div className="applicant-avatar" style={app.profilePhoto ? {
-                                            backgroundImage: `url(${app.profilePhoto})`,
+                                            backgroundImage: `url(${app.profilePhotoThumbnail || app.profilePhoto})`,
                                             backgroundSize: 'cover',
                                             backgroundPosition: 'center',
                                             fontSize: 0,
@@ -188,7 +188,7 @@ const SeekerProfile = () => {
                             <input
                                 ref={photoInputRef}
                                 type="file"
-                                accept="image/*"
+                                accept=".jpg,.jpeg,.png,.webp"
                                 onChange={handlePhotoUpload}
                                 style={{ display: 'none' }}
                             />